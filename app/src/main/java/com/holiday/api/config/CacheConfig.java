@@ -0,0 +1,86 @@
+package com.holiday.api.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.service.CachedHolidays;
+import com.holiday.api.service.HolidayCache;
+import com.holiday.api.service.HolidayRefresher;
+import com.holiday.api.service.HolidayStore;
+import com.holiday.api.service.SingleFlight;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Executor;
+
+/**
+ * Configures the in-memory caches and the on-disk store in front of the upstream holiday API.
+ */
+@Configuration
+@EnableConfigurationProperties({HolidayCacheProperties.class, HolidayStoreProperties.class})
+public class CacheConfig {
+
+    /**
+     * Cache of holidays per (year, country).
+     *
+     * @param properties the holiday cache properties
+     * @return the holiday cache
+     */
+    @Bean
+    public HolidayCache holidayCache(HolidayCacheProperties properties) {
+        return new HolidayCache(properties, Ticker.systemTicker());
+    }
+
+    /**
+     * Pool of {@code holiday.cache.refresh-concurrency} threads reloading stale entries. It has no queue, so
+     * reloads are rejected while every thread is busy.
+     *
+     * @param properties the holiday cache properties
+     * @return the thread pool task executor
+     */
+    @Bean
+    public ThreadPoolTaskExecutor refreshExecutor(HolidayCacheProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getRefreshConcurrency());
+        executor.setMaxPoolSize(properties.getRefreshConcurrency());
+        executor.setQueueCapacity(0);
+        executor.setThreadNamePrefix("holiday-refresh-");
+        return executor;
+    }
+
+    /**
+     * Reloads stale and frequently read cache entries in the background.
+     *
+     * @param refreshExecutor the refresh executor
+     * @return the holiday refresher
+     */
+    @Bean
+    public HolidayRefresher holidayRefresher(@Qualifier("refreshExecutor") Executor refreshExecutor) {
+        return new HolidayRefresher(refreshExecutor);
+    }
+
+    /**
+     * Coalesces concurrent upstream fetches of the same (year, country).
+     *
+     * @return the single flight
+     */
+    @Bean
+    public SingleFlight<HolidayKey, CachedHolidays> upstreamFetches() {
+        return new SingleFlight<>();
+    }
+
+    /**
+     * On-disk holiday dataset, loaded before the application starts serving requests.
+     *
+     * @param properties the holiday store properties
+     * @return the holiday store
+     */
+    @Bean
+    public HolidayStore holidayStore(HolidayStoreProperties properties) {
+        HolidayStore holidayStore = new HolidayStore(properties);
+        holidayStore.load();
+        return holidayStore;
+    }
+}
@@ -0,0 +1,24 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Deadline properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.deadline")
+public class DeadlineProperties {
+
+    /**
+     * Time a multi-country request is given to fetch its countries when the client does not ask for another one.
+     */
+    private Duration defaultTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Longest time a client may ask for with the {@code X-Request-Timeout} header.
+     */
+    private Duration maxTimeout = Duration.ofSeconds(30);
+}
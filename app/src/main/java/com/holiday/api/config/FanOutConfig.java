@@ -0,0 +1,80 @@
+package com.holiday.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.core.task.TaskDecorator;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.Semaphore;
+
+/**
+ * Configures the executor the multi-country endpoints fan their upstream lookups out on.
+ * <p>
+ * With {@code spring.threads.virtual.enabled} the lookups run on one virtual thread each, otherwise on a bounded
+ * platform thread pool. Both are limited to {@code holiday.fan-out.max-concurrency} lookups at a time.
+ */
+@Configuration
+@EnableConfigurationProperties(FanOutProperties.class)
+public class FanOutConfig {
+
+    private static final String THREAD_NAME_PREFIX = "holiday-fan-out-";
+
+    /**
+     * Bounded pool running (year, country) lookups, kept apart from the common ForkJoinPool and Tomcat threads.
+     *
+     * @param properties the fan out properties
+     * @return the async task executor
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor upstreamExecutor(FanOutProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrency());
+        executor.setMaxPoolSize(properties.getMaxConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Virtual thread per lookup. Once the concurrency limit is reached, further lookups wait for a free slot on their
+     * own virtual thread, so submitting never blocks the caller, which may itself be a lookup holding a slot.
+     *
+     * @param properties the fan out properties
+     * @return the async task executor
+     */
+    @Bean(name = "upstreamExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualUpstreamExecutor(FanOutProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        executor.setTaskDecorator(concurrencyLimit(properties.getMaxConcurrency()));
+        executor.setTaskTerminationTimeout(10_000);
+        return executor;
+    }
+
+    /**
+     * Lets at most {@code maxConcurrency} decorated tasks run at once, the others waiting in the thread they were
+     * started on.
+     *
+     * @param maxConcurrency the maximum number of tasks running at once
+     * @return the task decorator
+     */
+    static TaskDecorator concurrencyLimit(int maxConcurrency) {
+        Semaphore slots = new Semaphore(maxConcurrency);
+        return task -> () -> {
+            slots.acquireUninterruptibly();
+            try {
+                task.run();
+            } finally {
+                slots.release();
+            }
+        };
+    }
+}
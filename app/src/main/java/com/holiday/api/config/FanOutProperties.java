@@ -0,0 +1,22 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The type Fan out properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.fan-out")
+public class FanOutProperties {
+
+    /**
+     * Maximum number of (year, country) lookups running at the same time across all requests.
+     */
+    private int maxConcurrency = 16;
+
+    /**
+     * Number of lookups allowed to wait for a free slot before new ones are rejected.
+     */
+    private int queueCapacity = 10_000;
+}
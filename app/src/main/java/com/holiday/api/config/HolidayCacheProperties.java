@@ -0,0 +1,50 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Holiday cache properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.cache")
+public class HolidayCacheProperties {
+
+    /**
+     * How long the holidays of a (year, country) pair are served as fresh once fetched.
+     */
+    private Duration ttl = Duration.ofHours(12);
+
+    /**
+     * How long holidays past their time to live are still served while they are reloaded in the background.
+     */
+    private Duration maxStale = Duration.ofHours(24);
+
+    /**
+     * How long before the end of their time to live frequently read holidays are reloaded in the background.
+     */
+    private Duration refreshAhead = Duration.ofHours(1);
+
+    /**
+     * Number of reads since holidays were loaded from which they count as frequently read.
+     */
+    private int refreshAheadMinReads = 10;
+
+    /**
+     * Maximum number of background reloads running at once. Reloads beyond it are skipped and asked for again by
+     * the next read.
+     */
+    private int refreshConcurrency = 4;
+
+    /**
+     * How long an upstream "not found" answer is remembered, so unknown countries don't hit upstream every time.
+     */
+    private Duration negativeTtl = Duration.ofMinutes(5);
+
+    /**
+     * Upper bound on the number of holidays held in the cache, each (year, country) entry weighing its holidays.
+     */
+    private long maximumWeight = 100_000;
+}
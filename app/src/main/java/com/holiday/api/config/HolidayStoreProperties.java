@@ -0,0 +1,29 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.nio.file.Path;
+
+/**
+ * The type Holiday store properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.store")
+public class HolidayStoreProperties {
+
+    /**
+     * Whether fetched holidays are persisted to disk and reloaded on startup.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Directory holding one file per (year, country).
+     */
+    private Path directory = Path.of("data", "holidays");
+
+    /**
+     * Serve holidays from the store only, never calling the upstream API.
+     */
+    private boolean offline = false;
+}
@@ -0,0 +1,25 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Http cache properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.http-cache")
+public class HttpCacheProperties {
+
+    /**
+     * How long clients and shared caches may reuse a response computed from the holidays of past years only.
+     */
+    private Duration historicalMaxAge = Duration.ofDays(7);
+
+    /**
+     * How long clients and shared caches may reuse a response computed from the holidays of the current or a
+     * future year, which upstream may still correct.
+     */
+    private Duration currentMaxAge = Duration.ofHours(1);
+}
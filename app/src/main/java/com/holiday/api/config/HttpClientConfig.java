@@ -0,0 +1,66 @@
+package com.holiday.api.config;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.holiday.api.service.UpstreamCallPolicy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.net.http.HttpClient;
+
+/**
+ * Configures the shared {@link HttpClient} used to call the upstream holiday API, and the resilience policy its
+ * calls are made under.
+ */
+@Configuration
+@EnableConfigurationProperties({UpstreamClientProperties.class, UpstreamResilienceProperties.class})
+@Slf4j
+public class HttpClientConfig {
+
+    private static final String POOL_SIZE_PROPERTY = "jdk.httpclient.connectionPoolSize";
+    private static final String KEEP_ALIVE_PROPERTY = "jdk.httpclient.keepalive.timeout";
+
+    /**
+     * Single pooled client reused for every upstream call, so connections and TLS sessions are kept alive.
+     *
+     * @param properties the upstream client properties
+     * @return the http client
+     */
+    @Bean
+    public HttpClient upstreamHttpClient(UpstreamClientProperties properties) {
+        // The JDK client only reads pool settings from system properties, once, when its connection pool is
+        // first initialised. Explicit -D flags take precedence over the application configuration.
+        setIfAbsent(POOL_SIZE_PROPERTY, String.valueOf(properties.getConnectionPoolSize()));
+        setIfAbsent(KEEP_ALIVE_PROPERTY, String.valueOf(properties.getKeepAlive().toSeconds()));
+
+        HttpClient.Version version = properties.isHttp2() ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1;
+        log.info("Creating upstream http client with version: {}, connect timeout: {}, pool size: {}",
+                version, properties.getConnectTimeout(), System.getProperty(POOL_SIZE_PROPERTY));
+
+        return HttpClient.newBuilder()
+                .version(version)
+                .connectTimeout(properties.getConnectTimeout())
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .build();
+    }
+
+    /**
+     * Timeouts, retries, circuit breaker and bulkhead shared by every upstream call.
+     *
+     * @param properties the upstream resilience properties
+     * @return the upstream call policy
+     */
+    @Bean
+    public UpstreamCallPolicy upstreamCallPolicy(UpstreamResilienceProperties properties) {
+        log.info("Creating upstream call policy with max attempts: {}, max concurrent calls: {}, open duration: {}",
+                properties.getMaxAttempts(), properties.getMaxConcurrentCalls(), properties.getOpenDuration());
+        return new UpstreamCallPolicy(properties, Ticker.systemTicker());
+    }
+
+    private static void setIfAbsent(String key, String value) {
+        if (System.getProperty(key) == null) {
+            System.setProperty(key, value);
+        }
+    }
+}
@@ -0,0 +1,142 @@
+package com.holiday.api.config;
+
+import com.holiday.api.controller.AggregateResponseCache;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.service.CachedHolidays;
+import com.holiday.api.service.CircuitBreaker;
+import com.holiday.api.service.HolidayCache;
+import com.holiday.api.service.HolidayRefresher;
+import com.holiday.api.service.SingleFlight;
+import com.holiday.api.service.UpstreamCallPolicy;
+import com.holiday.api.service.UpstreamClientMetrics;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+/**
+ * Publishes the statistics the cache, the single flight and the upstream client already keep as meters.
+ */
+@Configuration
+public class MetricsConfig {
+
+    /**
+     * Hits, misses, evictions and size of the holiday cache, and its background refreshes.
+     *
+     * @param holidayCache     the holiday cache
+     * @param holidayRefresher the holiday refresher
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder holidayCacheMetrics(HolidayCache holidayCache, HolidayRefresher holidayRefresher) {
+        return registry -> {
+            FunctionCounter.builder("holiday.cache.gets", holidayCache, cache -> cache.stats().hitCount())
+                    .description("Holiday cache lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("holiday.cache.gets", holidayCache, cache -> cache.stats().missCount())
+                    .description("Holiday cache lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+            FunctionCounter.builder("holiday.cache.evictions", holidayCache, cache -> cache.stats().evictionCount())
+                    .description("Holiday cache entries evicted for size")
+                    .register(registry);
+            Gauge.builder("holiday.cache.size", holidayCache, HolidayCache::estimatedSize)
+                    .description("Approximate number of cached (year, country) entries")
+                    .register(registry);
+            FunctionCounter.builder("holiday.cache.stale.hits", holidayCache, HolidayCache::getStaleHitCount)
+                    .description("Holiday cache lookups served a stale value")
+                    .register(registry);
+            FunctionCounter.builder("holiday.cache.refresh.ahead.hits", holidayCache, HolidayCache::getRefreshAheadHitCount)
+                    .description("Holiday cache lookups of a frequently read value close to expiring")
+                    .register(registry);
+            FunctionCounter.builder("holiday.cache.refreshes", holidayRefresher, HolidayRefresher::getSucceededCount)
+                    .description("Background reloads of cached holidays")
+                    .tag("result", "success")
+                    .register(registry);
+            FunctionCounter.builder("holiday.cache.refreshes", holidayRefresher, HolidayRefresher::getFailedCount)
+                    .description("Background reloads of cached holidays")
+                    .tag("result", "failure")
+                    .register(registry);
+            FunctionCounter.builder("holiday.cache.refreshes", holidayRefresher, HolidayRefresher::getSkippedCount)
+                    .description("Background reloads of cached holidays")
+                    .tag("result", "skipped")
+                    .register(registry);
+            Gauge.builder("holiday.cache.refreshes.in.flight", holidayRefresher, HolidayRefresher::getInFlightCount)
+                    .description("Background reloads running")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Hits, misses and size of the cache of serialized aggregate responses.
+     *
+     * @param aggregateResponseCache the aggregate response cache
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder aggregateResponseCacheMetrics(AggregateResponseCache aggregateResponseCache) {
+        return registry -> {
+            FunctionCounter.builder("holiday.response.cache.gets", aggregateResponseCache, cache -> cache.stats().hitCount())
+                    .description("Aggregate response cache lookups")
+                    .tag("result", "hit")
+                    .register(registry);
+            FunctionCounter.builder("holiday.response.cache.gets", aggregateResponseCache, cache -> cache.stats().missCount())
+                    .description("Aggregate response cache lookups")
+                    .tag("result", "miss")
+                    .register(registry);
+            Gauge.builder("holiday.response.cache.size", aggregateResponseCache, AggregateResponseCache::estimatedSize)
+                    .description("Approximate number of cached aggregate responses")
+                    .register(registry);
+        };
+    }
+
+    /**
+     * Coalesced and in-flight upstream fetches, how upstream connections are reused, and what the resilience
+     * policy did.
+     *
+     * @param upstreamFetches       the upstream fetches
+     * @param upstreamClientMetrics the upstream client metrics
+     * @param upstreamCallPolicy    the upstream call policy
+     * @return the meter binder
+     */
+    @Bean
+    public MeterBinder upstreamFetchMetrics(SingleFlight<HolidayKey, CachedHolidays> upstreamFetches,
+                                            UpstreamClientMetrics upstreamClientMetrics,
+                                            UpstreamCallPolicy upstreamCallPolicy) {
+        return registry -> {
+            FunctionCounter.builder("holiday.upstream.coalesced", upstreamFetches, SingleFlight::getCoalescedCount)
+                    .description("Lookups served by an upstream fetch already in flight")
+                    .register(registry);
+            Gauge.builder("holiday.upstream.in.flight", upstreamFetches, SingleFlight::getInFlightCount)
+                    .description("Upstream fetches in flight")
+                    .register(registry);
+            FunctionCounter.builder("holiday.upstream.http2.responses", upstreamClientMetrics,
+                            UpstreamClientMetrics::getHttp2Responses)
+                    .description("Upstream responses received over HTTP/2")
+                    .register(registry);
+            FunctionCounter.builder("holiday.upstream.tls.sessions", upstreamClientMetrics,
+                            UpstreamClientMetrics::getNewTlsSessions)
+                    .description("Distinct upstream TLS sessions, i.e. full handshakes")
+                    .register(registry);
+            Gauge.builder("holiday.upstream.connection.reuse", upstreamClientMetrics,
+                            UpstreamClientMetrics::getConnectionReuseRatio)
+                    .description("Share of upstream responses received over an established TLS session")
+                    .register(registry);
+            FunctionCounter.builder("holiday.upstream.retries", upstreamCallPolicy, UpstreamCallPolicy::getRetries)
+                    .description("Upstream call attempts retried after a 5xx or an I/O error")
+                    .register(registry);
+            FunctionCounter.builder("holiday.upstream.rejected", upstreamCallPolicy, UpstreamCallPolicy::getRejectedCalls)
+                    .description("Upstream call attempts rejected by the circuit breaker or the bulkhead")
+                    .register(registry);
+            Gauge.builder("holiday.upstream.available.slots", upstreamCallPolicy, UpstreamCallPolicy::getAvailableSlots)
+                    .description("Upstream calls that can start without waiting")
+                    .register(registry);
+            Gauge.builder("holiday.upstream.circuit.open", upstreamCallPolicy,
+                            policy -> policy.getCircuitBreakerState() == CircuitBreaker.State.CLOSED ? 0 : 1)
+                    .description("Whether the upstream circuit breaker is open or half open")
+                    .register(registry);
+        };
+    }
+}
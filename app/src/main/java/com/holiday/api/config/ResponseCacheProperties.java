@@ -0,0 +1,18 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.util.unit.DataSize;
+
+/**
+ * The type Response cache properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.response-cache")
+public class ResponseCacheProperties {
+
+    /**
+     * Maximum total size of the serialized aggregate responses kept.
+     */
+    private DataSize maximumSize = DataSize.ofMegabytes(32);
+}
@@ -0,0 +1,14 @@
+package com.holiday.api.config;
+
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+
+/**
+ * Enables the background jobs keeping holiday data warm.
+ */
+@Configuration
+@EnableScheduling
+@EnableConfigurationProperties(WarmUpProperties.class)
+public class SchedulingConfig {
+}
@@ -0,0 +1,60 @@
+package com.holiday.api.config;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+/**
+ * Configures the executor streamed responses are written on, which Spring MVC uses for every asynchronous response
+ * body (see {@link WebConfig}).
+ * <p>
+ * A streamed response holds its thread until the last line is written, so they are kept apart from the fan-out
+ * executor and limited to {@code holiday.streaming.max-concurrency} at a time. With
+ * {@code spring.threads.virtual.enabled} each response is written on its own virtual thread instead.
+ */
+@Configuration
+@EnableConfigurationProperties(StreamingProperties.class)
+public class StreamingConfig {
+
+    private static final String THREAD_NAME_PREFIX = "holiday-stream-";
+
+    /**
+     * Bounded pool writing streamed responses.
+     *
+     * @param properties the streaming properties
+     * @return the async task executor
+     */
+    @Bean
+    @ConditionalOnThreading(Threading.PLATFORM)
+    public AsyncTaskExecutor streamingExecutor(StreamingProperties properties) {
+        ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+        executor.setCorePoolSize(properties.getMaxConcurrency());
+        executor.setMaxPoolSize(properties.getMaxConcurrency());
+        executor.setQueueCapacity(properties.getQueueCapacity());
+        executor.setThreadNamePrefix(THREAD_NAME_PREFIX);
+        executor.setWaitForTasksToCompleteOnShutdown(true);
+        return executor;
+    }
+
+    /**
+     * Virtual thread per streamed response. Once the concurrency limit is reached, new responses wait for a free
+     * slot before they start writing.
+     *
+     * @param properties the streaming properties
+     * @return the async task executor
+     */
+    @Bean(name = "streamingExecutor")
+    @ConditionalOnThreading(Threading.VIRTUAL)
+    public AsyncTaskExecutor virtualStreamingExecutor(StreamingProperties properties) {
+        SimpleAsyncTaskExecutor executor = new SimpleAsyncTaskExecutor(THREAD_NAME_PREFIX);
+        executor.setVirtualThreads(true);
+        executor.setConcurrencyLimit(properties.getMaxConcurrency());
+        executor.setTaskTerminationTimeout(10_000);
+        return executor;
+    }
+}
@@ -0,0 +1,22 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+/**
+ * The type Streaming properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.streaming")
+public class StreamingProperties {
+
+    /**
+     * Maximum number of streamed responses being written at the same time.
+     */
+    private int maxConcurrency = 32;
+
+    /**
+     * Number of streamed responses allowed to wait for a free writer before new ones are rejected.
+     */
+    private int queueCapacity = 100;
+}
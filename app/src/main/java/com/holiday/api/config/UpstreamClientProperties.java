@@ -0,0 +1,39 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Upstream client properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.api.client")
+public class UpstreamClientProperties {
+
+    /**
+     * Prefer HTTP/2 when talking to the holiday API, falling back to HTTP/1.1 if the server does not support it.
+     */
+    private boolean http2 = true;
+
+    /**
+     * Maximum time to wait for a connection to be established.
+     */
+    private Duration connectTimeout = Duration.ofSeconds(5);
+
+    /**
+     * Maximum time to wait for a single upstream response.
+     */
+    private Duration requestTimeout = Duration.ofSeconds(10);
+
+    /**
+     * Maximum number of idle HTTP/1.1 connections kept in the pool (0 means unbounded).
+     */
+    private int connectionPoolSize = 20;
+
+    /**
+     * How long an idle pooled connection is kept alive before being closed.
+     */
+    private Duration keepAlive = Duration.ofSeconds(60);
+}
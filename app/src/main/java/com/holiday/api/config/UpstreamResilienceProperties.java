@@ -0,0 +1,71 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Upstream resilience properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.api.resilience")
+public class UpstreamResilienceProperties {
+
+    /**
+     * Maximum number of attempts of an upstream call failing with a 5xx or an I/O error, the first one included.
+     * Timeouts are not retried.
+     */
+    private int maxAttempts = 3;
+
+    /**
+     * Upper bound of the random delay before the first retry.
+     */
+    private Duration initialBackoff = Duration.ofMillis(100);
+
+    /**
+     * Factor the backoff bound grows by with every retry.
+     */
+    private double backoffMultiplier = 2.0;
+
+    /**
+     * Upper bound of the random delay before any retry.
+     */
+    private Duration maxBackoff = Duration.ofSeconds(2);
+
+    /**
+     * Percentage of failed calls in the sliding window at which the circuit breaker opens.
+     */
+    private int failureRateThreshold = 50;
+
+    /**
+     * Number of most recent calls the failure rate is computed over.
+     */
+    private int slidingWindowSize = 20;
+
+    /**
+     * Minimum number of calls in the sliding window before the failure rate is evaluated.
+     */
+    private int minimumCalls = 10;
+
+    /**
+     * How long an open circuit breaker fails calls fast before letting trial calls through.
+     */
+    private Duration openDuration = Duration.ofSeconds(30);
+
+    /**
+     * Number of trial calls let through once the open duration has passed, all of which must succeed to close
+     * the circuit breaker again.
+     */
+    private int halfOpenCalls = 3;
+
+    /**
+     * Maximum number of upstream calls in flight at once.
+     */
+    private int maxConcurrentCalls = 20;
+
+    /**
+     * Maximum time to wait for a free upstream call slot before failing.
+     */
+    private Duration maxWait = Duration.ofMillis(500);
+}
@@ -0,0 +1,45 @@
+package com.holiday.api.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+
+import java.time.Duration;
+
+/**
+ * The type Warm up properties.
+ */
+@Data
+@ConfigurationProperties(prefix = "holiday.warm-up")
+public class WarmUpProperties {
+
+    /**
+     * Whether holidays of every supported country are preloaded on startup and refreshed periodically.
+     */
+    private boolean enabled = false;
+
+    /**
+     * Number of years before the current one to preload.
+     */
+    private int yearsBack = 5;
+
+    /**
+     * Number of years after the current one to preload.
+     */
+    private int yearsAhead = 5;
+
+    /**
+     * Maximum number of preload lookups running at the same time.
+     */
+    private int maxConcurrency = 4;
+
+    /**
+     * Maximum number of preload lookups started per second, to stay polite to the upstream API.
+     */
+    private int requestsPerSecond = 10;
+
+    /**
+     * Delay between the end of a run and the start of the next, shorter than {@code holiday.cache.ttl} so warmed
+     * entries are reloaded before they expire. Read by the job's schedule in ISO-8601 form, e.g. {@code PT6H}.
+     */
+    private Duration interval = Duration.ofHours(6);
+}
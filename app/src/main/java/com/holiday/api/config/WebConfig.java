@@ -0,0 +1,54 @@
+package com.holiday.api.config;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.controller.AggregateResponseCache;
+import com.holiday.api.service.HolidayCache;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+/**
+ * Configures how holiday responses are served over HTTP.
+ */
+@Configuration
+@EnableConfigurationProperties({HttpCacheProperties.class, ResponseCacheProperties.class, DeadlineProperties.class})
+public class WebConfig implements WebMvcConfigurer {
+
+    @Autowired
+    @Qualifier("streamingExecutor")
+    private AsyncTaskExecutor streamingExecutor;
+
+    /**
+     * Writes asynchronous response bodies, such as streamed responses, on the streaming executor. Without it Spring
+     * MVC would fall back to a thread per response, as the application's own executors replace Spring Boot's
+     * default one.
+     *
+     * @param configurer the async support configurer
+     */
+    @Override
+    public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+        configurer.setTaskExecutor(streamingExecutor);
+    }
+
+    /**
+     * Cache of serialized aggregate responses, dropping responses as soon as the holidays they were computed from
+     * change in the holiday cache.
+     *
+     * @param properties   the response cache properties
+     * @param objectMapper the object mapper
+     * @param holidayCache the holiday cache
+     * @return the aggregate response cache
+     */
+    @Bean
+    public AggregateResponseCache aggregateResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper,
+                                                         HolidayCache holidayCache) {
+        AggregateResponseCache aggregateResponseCache = new AggregateResponseCache(properties, objectMapper);
+        holidayCache.addChangeListener(aggregateResponseCache::invalidate);
+        return aggregateResponseCache;
+    }
+}
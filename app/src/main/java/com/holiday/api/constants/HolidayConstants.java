@@ -9,4 +9,24 @@ public class HolidayConstants {
      * The constant PREVIOUS_HOLIDAYS_COUNT.
      */
     public static final int PREVIOUS_HOLIDAYS_COUNT = 3;
+
+    /**
+     * The constant PAST_HOLIDAYS_MAX_YEARS_BACK.
+     */
+    public static final int PAST_HOLIDAYS_MAX_YEARS_BACK = 100;
+
+    /**
+     * The constant MAX_YEARS_PER_REQUEST.
+     */
+    public static final int MAX_YEARS_PER_REQUEST = 20;
+
+    /**
+     * The constant MAX_CHECKS_PER_REQUEST, the most (date, country) pairs a holiday check can ask about.
+     */
+    public static final int MAX_CHECKS_PER_REQUEST = 10_000;
+
+    /**
+     * The constant MAX_BUSINESS_DAYS_PER_REQUEST, the most business days a date can be moved by at once.
+     */
+    public static final int MAX_BUSINESS_DAYS_PER_REQUEST = 2500;
 }
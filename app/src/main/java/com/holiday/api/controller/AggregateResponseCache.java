@@ -0,0 +1,159 @@
+package com.holiday.api.controller;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.holiday.api.config.ResponseCacheProperties;
+import com.holiday.api.domain.HolidayKey;
+
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Serialized responses of the aggregate endpoints, {@code /holidays/count}, {@code /holidays/common} and
+ * {@code /holidays/bulk}, keyed by the normalized request, so a repeated request skips both computing its response
+ * and serializing it to JSON.
+ * <p>
+ * Entries are weighed by their size in bytes and evicted with Caffeine's W-TinyLFU policy once
+ * {@code holiday.response-cache.maximum-size} is reached. When the holidays of a (year, country) pair change, every
+ * response computed from them is dropped (see {@link #invalidate(HolidayKey)}).
+ */
+public class AggregateResponseCache {
+
+    /**
+     * A normalized aggregate request.
+     *
+     * @param endpoint     the endpoint, such as {@code count}
+     * @param fromYear     the first year
+     * @param toYear       the last year, the same as the first one for a single year
+     * @param countryCodes the upper-cased, de-duplicated and sorted country codes
+     */
+    public record Key(String endpoint, int fromYear, int toYear, List<String> countryCodes) {
+
+        /**
+         * Instantiates a new Key for a single year.
+         *
+         * @param endpoint     the endpoint
+         * @param year         the year
+         * @param countryCodes the country codes
+         */
+        public Key(String endpoint, int year, List<String> countryCodes) {
+            this(endpoint, year, year, countryCodes);
+        }
+
+        /**
+         * Whether the response was computed from the holidays of a (year, country) pair.
+         *
+         * @param holidayKey the (year, country) pair
+         * @return the boolean
+         */
+        public boolean covers(HolidayKey holidayKey) {
+            return holidayKey.year() >= fromYear && holidayKey.year() <= toYear
+                    && countryCodes.contains(holidayKey.countryCode());
+        }
+    }
+
+    /**
+     * A response serialized to JSON, with its ETag.
+     *
+     * @param eTag the quoted ETag
+     * @param body the JSON body
+     */
+    public record SerializedResponse(String eTag, byte[] body) {
+    }
+
+    private final Cache<Key, SerializedResponse> cache;
+    private final ObjectMapper objectMapper;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    /**
+     * Instantiates a new Aggregate response cache.
+     *
+     * @param properties   the response cache properties
+     * @param objectMapper the object mapper the responses are serialized with
+     */
+    public AggregateResponseCache(ResponseCacheProperties properties, ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumSize().toBytes())
+                .weigher((Key key, SerializedResponse response) -> response.body().length)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the cached response to a request.
+     *
+     * @param key the request
+     * @return the response, or {@code null} if not cached
+     */
+    public SerializedResponse get(Key key) {
+        return cache.getIfPresent(key);
+    }
+
+    /**
+     * Gets the current generation, to be taken before the holidays of a response are looked up and handed to
+     * {@link #put(Key, long, String, Object)}.
+     *
+     * @return the generation
+     */
+    public long generation() {
+        return invalidations.get();
+    }
+
+    /**
+     * Serializes a response and caches it, unless holidays changed since the generation was taken, in which case the
+     * response may already be outdated and is only returned.
+     *
+     * @param key        the request
+     * @param generation the generation taken before the holidays of the response were looked up
+     * @param eTag       the ETag
+     * @param body       the response body
+     * @return the serialized response
+     */
+    public SerializedResponse put(Key key, long generation, String eTag, Object body) {
+        SerializedResponse response;
+        try {
+            response = new SerializedResponse(eTag, objectMapper.writeValueAsBytes(body));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Unable to serialize the " + key.endpoint() + " response", e);
+        }
+        cache.put(key, response);
+        // An invalidation racing with the put either removes the new entry or is seen here
+        if (invalidations.get() != generation) {
+            cache.invalidate(key);
+        }
+        return response;
+    }
+
+    /**
+     * Drops the responses computed from the holidays of a (year, country) pair.
+     *
+     * @param changed the (year, country) pair whose holidays changed
+     */
+    public void invalidate(HolidayKey changed) {
+        invalidations.incrementAndGet();
+        cache.asMap().keySet().removeIf(key -> key.covers(changed));
+    }
+
+    /**
+     * Hit, miss and eviction counters.
+     *
+     * @return the cache stats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Approximate number of cached responses.
+     *
+     * @return the estimated size
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+}
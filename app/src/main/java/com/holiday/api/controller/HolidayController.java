@@ -1,20 +1,44 @@
 package com.holiday.api.controller;
 
 
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.config.DeadlineProperties;
+import com.holiday.api.constants.HolidayConstants;
+import com.holiday.api.domain.BusinessDays;
+import com.holiday.api.domain.Country;
+import com.holiday.api.domain.FanOutResult;
 import com.holiday.api.domain.Holiday;
+import com.holiday.api.request.BusinessDayRequest;
 import com.holiday.api.request.CountryRequest;
+import com.holiday.api.request.HolidayCheckRequest;
+import com.holiday.api.service.CountryCatalogue;
+import com.holiday.api.service.Deadline;
 import com.holiday.api.service.HolidayService;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.time.LocalDate;
 import java.util.List;
-import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Supplier;
 
 /**
  * The type Holiday controller.
@@ -23,23 +47,85 @@ import java.util.Map;
 @RequestMapping("/holidays")
 public class HolidayController {
 
+    /**
+     * Header a client can set to the number of milliseconds it is willing to wait for a multi-country request.
+     */
+    public static final String REQUEST_TIMEOUT_HEADER = "X-Request-Timeout";
+
     /**
      * The Holiday service.
      */
     @Autowired
     private HolidayService holidayService;
 
+    /**
+     * The Response caching.
+     */
+    @Autowired
+    private ResponseCaching responseCaching;
+
+    /**
+     * The Aggregate response cache.
+     */
+    @Autowired
+    private AggregateResponseCache aggregateResponseCache;
+
+    /**
+     * The Country catalogue.
+     */
+    @Autowired
+    private CountryCatalogue countryCatalogue;
+
+    /**
+     * The Deadline properties.
+     */
+    @Autowired
+    private DeadlineProperties deadlineProperties;
+
+    /**
+     * The Object mapper.
+     */
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    /**
+     * Gets the supported countries.
+     *
+     * @param ifNoneMatch the ETag of a response the client already holds, if any
+     * @return the countries, or 304 if they have not changed since that response
+     */
+    @GetMapping("/countries")
+    public ResponseEntity<List<Country>> getCountries(@RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String eTag = responseCaching.eTag("countries", countryCatalogue.getVersion());
+        CacheControl cacheControl = responseCaching.forCatalogue();
+        if (responseCaching.matches(ifNoneMatch, eTag)) {
+            return responseCaching.notModified(eTag, cacheControl);
+        }
+        return responseCaching.ok(countryCatalogue.getCountries(), eTag, cacheControl);
+    }
+
     /**
      * Gets last 3 holidays.
      *
-     * @param countryCode the countrycode
-     * @return the last 3 holidays
+     * @param countryCode the countrycode, in any case
+     * @param ifNoneMatch the ETag of a response the client already holds, if any
+     * @return the last 3 holidays, or 304 if they have not changed since that response
      */
     @GetMapping("/past/{countryCode}")
-    public ResponseEntity<List<Holiday>> getPastHolidays(@PathVariable String countryCode) {
+    public ResponseEntity<List<Holiday>> getPastHolidays(@PathVariable("countryCode") String requestedCountryCode,
+                                                         @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch) {
+        String countryCode = CountryRequest.normalizeCountryCode(requestedCountryCode);
+        if (!countryCatalogue.isKnown(countryCode)) {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "Unknown country code: " + countryCode);
+        }
+        String eTag = responseCaching.eTag("past", holidayService.getPastHolidaysVersion(countryCode), countryCode, LocalDate.now());
+        CacheControl cacheControl = responseCaching.untilEndOfDay();
+        if (responseCaching.matches(ifNoneMatch, eTag)) {
+            return responseCaching.notModified(eTag, cacheControl);
+        }
 
         List<Holiday> last3Holidays = holidayService.getPastHolidays(countryCode);
-        return ResponseEntity.ok(last3Holidays);
+        return responseCaching.ok(last3Holidays, eTag, cacheControl);
     }
 
 
@@ -47,16 +133,21 @@ public class HolidayController {
      * Gets holidays count.
      *
      * @param countryRequest the country request
-     * @return the holidays count
+     * @param ifNoneMatch    the ETag of a response the client already holds, if any
+     * @param requestTimeout the time in milliseconds the client is willing to wait, if not the configured one
+     * @return the holidays count as JSON, or the holidays count of each year keyed by year for a range of years,
+     * written once every country has been fetched without holding the request thread, or 304 if it has not changed
+     * since that response; a partial result if some countries were not fetched in time
      */
     @PostMapping("/count")
-    public ResponseEntity<Map<String, Long>> getHolidaysCount(@RequestBody CountryRequest countryRequest) {
-        List<String> countryCodes = countryRequest.getCountryCodes();
-        if (countryCodes.isEmpty()) {
-            throw new IllegalArgumentException("At least one country code is required to find holidays count.");
-        }
-        Map<String, Long> holidaysCount = holidayService.getHolidaysCount(countryRequest);
-        return ResponseEntity.ok(holidaysCount);
+    public CompletableFuture<ResponseEntity<byte[]>> getHolidaysCount(@RequestBody CountryRequest countryRequest,
+                                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                      @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) String requestTimeout) {
+        CountryRequest normalizedRequest = normalizeCountRequest(countryRequest);
+        Deadline deadline = deadline(requestTimeout);
+        return aggregate("count", normalizedRequest, ifNoneMatch, deadline, normalizedRequest.hasYearRange()
+                ? () -> holidayService.getHolidaysCountByYear(normalizedRequest, deadline)
+                : () -> holidayService.getHolidaysCount(normalizedRequest, deadline));
     }
 
 
@@ -64,16 +155,396 @@ public class HolidayController {
      * Gets common holidays.
      *
      * @param countryRequest the country request
-     * @return the common holidays
+     * @param ifNoneMatch    the ETag of a response the client already holds, if any
+     * @param requestTimeout the time in milliseconds the client is willing to wait, if not the configured one
+     * @return the common holidays as JSON, or the common holidays of each year keyed by year for a range of years,
+     * written once every country has been fetched without holding the request thread, or 304 if they have not
+     * changed since that response; a partial result, computed over the countries fetched in time, if some were not
      */
     @PostMapping("/common")
-    public ResponseEntity<List<Holiday>> getCommonHolidays(@RequestBody CountryRequest countryRequest) {
-        List<String> countryCodes = countryRequest.getCountryCodes();
-        if (countryCodes.isEmpty() || countryCodes.size() < 2) {
+    public CompletableFuture<ResponseEntity<byte[]>> getCommonHolidays(@RequestBody CountryRequest countryRequest,
+                                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                       @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) String requestTimeout) {
+        CountryRequest normalizedRequest = normalizeCommonRequest(countryRequest);
+        Deadline deadline = deadline(requestTimeout);
+        return aggregate("common", normalizedRequest, ifNoneMatch, deadline, normalizedRequest.hasYearRange()
+                ? () -> holidayService.getCommonHolidaysByYear(normalizedRequest, deadline)
+                : () -> holidayService.getCommonHolidays(normalizedRequest, deadline));
+    }
+
+    /**
+     * Gets the holidays of many countries at once, replacing one {@code /past} style call per country.
+     *
+     * @param countryRequest the country request
+     * @param ifNoneMatch    the ETag of a response the client already holds, if any
+     * @param requestTimeout the time in milliseconds the client is willing to wait, if not the configured one
+     * @return the holidays of each country as JSON, or the holidays of each country in each year keyed by year for a
+     * range of years, written once every country has been fetched without holding the request thread, or 304 if they
+     * have not changed since that response; a partial result if some countries were not fetched in time
+     */
+    @PostMapping("/bulk")
+    public CompletableFuture<ResponseEntity<byte[]>> getHolidays(@RequestBody CountryRequest countryRequest,
+                                                                 @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                 @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) String requestTimeout) {
+        CountryRequest normalizedRequest = normalizeBulkRequest(countryRequest);
+        Deadline deadline = deadline(requestTimeout);
+        return aggregate("bulk", normalizedRequest, ifNoneMatch, deadline, normalizedRequest.hasYearRange()
+                ? () -> holidayService.getHolidaysByYear(normalizedRequest, deadline)
+                : () -> holidayService.getHolidays(normalizedRequest, deadline));
+    }
+
+    /**
+     * Checks whether each of many dates is a holiday in each of some countries, answered from the day-of-year bitmaps
+     * of the countries' holidays so that thousands of (date, country) pairs can be checked at once.
+     * <p>
+     * The response is not kept in the response cache, as it is cheap to compute again from the cached holidays and
+     * lists of dates seldom repeat.
+     *
+     * @param checkRequest   the holiday check request
+     * @param ifNoneMatch    the ETag of a response the client already holds, if any
+     * @param requestTimeout the time in milliseconds the client is willing to wait, if not the configured one
+     * @return for each date, in request order, whether it is a holiday in each country as JSON, or 304 if that has
+     * not changed since that response; a partial result if some countries were not fetched in time
+     */
+    @PostMapping("/check")
+    public CompletableFuture<ResponseEntity<byte[]>> checkHolidays(@RequestBody HolidayCheckRequest checkRequest,
+                                                                   @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                   @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) String requestTimeout) {
+        HolidayCheckRequest normalizedRequest = normalizeCheckRequest(checkRequest);
+        List<Integer> years = normalizedRequest.years();
+        CacheControl cacheControl = responseCaching.forYear(years.get(years.size() - 1));
+        return holidayService.checkHolidays(normalizedRequest, deadline(requestTimeout))
+                .thenApply(result -> computed("check", result, ifNoneMatch, cacheControl,
+                        normalizedRequest.getDates(), normalizedRequest.getCountryCodes()));
+    }
+
+    /**
+     * Moves a date by a number of business days, the days that are neither a Saturday or Sunday nor a holiday in any
+     * of the countries.
+     *
+     * @param businessDayRequest the business day request, with a from date and a number of days
+     * @param ifNoneMatch        the ETag of a response the client already holds, if any
+     * @param requestTimeout     the time in milliseconds the client is willing to wait, if not the configured one
+     * @return the date that many business days after the from date, or before it for a negative number, as JSON, or
+     * 304 if it has not changed since that response
+     */
+    @PostMapping("/business-days/add")
+    public CompletableFuture<ResponseEntity<byte[]>> addBusinessDays(@RequestBody BusinessDayRequest businessDayRequest,
+                                                                     @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                     @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) String requestTimeout) {
+        BusinessDayRequest normalizedRequest = normalizeBusinessDayRequest(businessDayRequest);
+        Long days = normalizedRequest.getDays();
+        if (days == null) {
+            throw new IllegalArgumentException("days is required to add business days.");
+        }
+        if (days < -HolidayConstants.MAX_BUSINESS_DAYS_PER_REQUEST || days > HolidayConstants.MAX_BUSINESS_DAYS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + HolidayConstants.MAX_BUSINESS_DAYS_PER_REQUEST + " business days can be added at once.");
+        }
+        return holidayService.addBusinessDays(normalizedRequest, deadline(requestTimeout))
+                .thenApply(result -> computed("business-days/add", result, ifNoneMatch, businessDaysCacheControl(result.getResults()),
+                        normalizedRequest.getFromDate(), days, normalizedRequest.getCountryCodes()));
+    }
+
+    /**
+     * Counts the business days from one date to another, the days that are neither a Saturday or Sunday nor a
+     * holiday in any of the countries.
+     *
+     * @param businessDayRequest the business day request, with a from and a to date
+     * @param ifNoneMatch        the ETag of a response the client already holds, if any
+     * @param requestTimeout     the time in milliseconds the client is willing to wait, if not the configured one
+     * @return the business days after the from date up to and including the to date as JSON, negative if the to date
+     * is before the from date, or 304 if they have not changed since that response
+     */
+    @PostMapping("/business-days/between")
+    public CompletableFuture<ResponseEntity<byte[]>> countBusinessDays(@RequestBody BusinessDayRequest businessDayRequest,
+                                                                       @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String ifNoneMatch,
+                                                                       @RequestHeader(value = REQUEST_TIMEOUT_HEADER, required = false) String requestTimeout) {
+        BusinessDayRequest normalizedRequest = normalizeBusinessDayRequest(businessDayRequest);
+        LocalDate fromDate = normalizedRequest.getFromDate();
+        LocalDate toDate = normalizedRequest.getToDate();
+        if (toDate == null) {
+            throw new IllegalArgumentException("toDate is required to count business days.");
+        }
+        if (Math.abs((long) toDate.getYear() - fromDate.getYear()) >= HolidayConstants.MAX_YEARS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + HolidayConstants.MAX_YEARS_PER_REQUEST + " years can be requested at once.");
+        }
+        return holidayService.countBusinessDays(normalizedRequest, deadline(requestTimeout))
+                .thenApply(result -> computed("business-days/between", result, ifNoneMatch, businessDaysCacheControl(result.getResults()),
+                        fromDate, toDate, normalizedRequest.getCountryCodes()));
+    }
+
+    /**
+     * Streams holidays count as newline-delimited JSON, one {@code {"year":..,"countryCode":..,"count":..}} line per
+     * country and year written as soon as it has been fetched, for clients that ask for {@code application/x-ndjson}.
+     * <p>
+     * Streamed responses bypass the ETag and the response cache, and are written on the streaming executor. A
+     * country failing after the first line has been written ends the stream early, as the status has already been
+     * sent.
+     *
+     * @param countryRequest the country request
+     * @return the streamed holidays count
+     */
+    @PostMapping(value = "/count", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamHolidaysCount(@RequestBody CountryRequest countryRequest) {
+        CountryRequest normalizedRequest = normalizeCountRequest(countryRequest);
+        return ndjson(out -> holidayService.streamHolidaysCount(normalizedRequest, count -> writeLine(out, count)));
+    }
+
+    /**
+     * Streams common holidays as newline-delimited JSON, one holiday per line in date order, for clients that ask for
+     * {@code application/x-ndjson}. The first line of a year is written once every country has been fetched for it.
+     * <p>
+     * Streamed responses bypass the ETag and the response cache, and are written on the streaming executor.
+     *
+     * @param countryRequest the country request
+     * @return the streamed common holidays
+     */
+    @PostMapping(value = "/common", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> streamCommonHolidays(@RequestBody CountryRequest countryRequest) {
+        CountryRequest normalizedRequest = normalizeCommonRequest(countryRequest);
+        return ndjson(out -> holidayService.streamCommonHolidays(normalizedRequest, holiday -> writeLine(out, holiday)));
+    }
+
+    private CountryRequest normalizeCountRequest(CountryRequest countryRequest) {
+        CountryRequest normalizedRequest = countryRequest.normalized();
+        if (normalizedRequest.getCountryCodes().isEmpty()) {
+            throw new IllegalArgumentException("At least one country code is required to find holidays count.");
+        }
+        validateCountryCodes(normalizedRequest);
+        validateYears(normalizedRequest);
+        return normalizedRequest;
+    }
+
+    private CountryRequest normalizeBulkRequest(CountryRequest countryRequest) {
+        CountryRequest normalizedRequest = countryRequest.normalized();
+        if (normalizedRequest.getCountryCodes().isEmpty()) {
+            throw new IllegalArgumentException("At least one country code is required to find holidays.");
+        }
+        validateCountryCodes(normalizedRequest);
+        validateYears(normalizedRequest);
+        return normalizedRequest;
+    }
+
+    private CountryRequest normalizeCommonRequest(CountryRequest countryRequest) {
+        CountryRequest normalizedRequest = countryRequest.normalized();
+        if (normalizedRequest.getCountryCodes().size() < 2) {
             throw new IllegalArgumentException("At least two country codes are required to find common holidays.");
         }
+        validateCountryCodes(normalizedRequest);
+        validateYears(normalizedRequest);
+        return normalizedRequest;
+    }
+
+    private HolidayCheckRequest normalizeCheckRequest(HolidayCheckRequest checkRequest) {
+        HolidayCheckRequest normalizedRequest = checkRequest.normalized();
+        List<LocalDate> dates = normalizedRequest.getDates();
+        List<String> countryCodes = normalizedRequest.getCountryCodes();
+        if (dates.isEmpty()) {
+            throw new IllegalArgumentException("At least one date is required to check holidays.");
+        }
+        if (dates.contains(null)) {
+            throw new IllegalArgumentException("Dates to check must not be null.");
+        }
+        if (countryCodes.isEmpty()) {
+            throw new IllegalArgumentException("At least one country code is required to check holidays.");
+        }
+        validateCountryCodes(countryCodes);
+        if ((long) dates.size() * countryCodes.size() > HolidayConstants.MAX_CHECKS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + HolidayConstants.MAX_CHECKS_PER_REQUEST + " dates and countries can be checked at once.");
+        }
+        if (normalizedRequest.years().size() > HolidayConstants.MAX_YEARS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + HolidayConstants.MAX_YEARS_PER_REQUEST + " years can be requested at once.");
+        }
+        return normalizedRequest;
+    }
+
+    private BusinessDayRequest normalizeBusinessDayRequest(BusinessDayRequest businessDayRequest) {
+        BusinessDayRequest normalizedRequest = businessDayRequest.normalized();
+        if (normalizedRequest.getFromDate() == null) {
+            throw new IllegalArgumentException("fromDate is required to compute business days.");
+        }
+        if (normalizedRequest.getCountryCodes().isEmpty()) {
+            throw new IllegalArgumentException("At least one country code is required to compute business days.");
+        }
+        validateCountryCodes(normalizedRequest.getCountryCodes());
+        return normalizedRequest;
+    }
+
+    /**
+     * Rejects country codes missing from the catalogue before anything is fetched, as upstream would only answer
+     * them with a 404.
+     */
+    private void validateCountryCodes(CountryRequest countryRequest) {
+        validateCountryCodes(countryRequest.getCountryCodes());
+    }
+
+    private void validateCountryCodes(List<String> countryCodes) {
+        List<String> unknownCodes = countryCodes.stream()
+                .filter(countryCode -> !countryCatalogue.isKnown(countryCode))
+                .toList();
+        if (!unknownCodes.isEmpty()) {
+            throw new IllegalArgumentException("Unknown country codes: " + String.join(", ", unknownCodes) + ".");
+        }
+    }
+
+    private static void validateYears(CountryRequest countryRequest) {
+        if (!countryRequest.hasYearRange()) {
+            return;
+        }
+        Integer fromYear = countryRequest.getFromYear();
+        Integer toYear = countryRequest.getToYear();
+        if (fromYear == null || toYear == null) {
+            throw new IllegalArgumentException("Both fromYear and toYear are required for a range of years.");
+        }
+        if (fromYear > toYear) {
+            throw new IllegalArgumentException("fromYear must not be after toYear.");
+        }
+        if ((long) toYear - fromYear >= HolidayConstants.MAX_YEARS_PER_REQUEST) {
+            throw new IllegalArgumentException("At most " + HolidayConstants.MAX_YEARS_PER_REQUEST + " years can be requested at once.");
+        }
+    }
+
+    /**
+     * Wraps a body writing lines with {@link #writeLine(OutputStream, Object)} into a newline-delimited JSON response.
+     */
+    private static ResponseEntity<StreamingResponseBody> ndjson(StreamingResponseBody lines) {
+        StreamingResponseBody body = out -> {
+            try {
+                lines.writeTo(out);
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+        };
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_NDJSON)
+                .body(body);
+    }
+
+    /**
+     * Writes a value as one line of JSON and flushes it to the client.
+     */
+    private void writeLine(OutputStream out, Object value) {
+        try {
+            out.write(objectMapper.writeValueAsBytes(value));
+            out.write('\n');
+            out.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Gets the deadline of a multi-country request: the configured one, or the one the client asked for, capped at
+     * the configured maximum.
+     */
+    private Deadline deadline(String requestTimeout) {
+        Duration timeout = deadlineProperties.getDefaultTimeout();
+        if (requestTimeout != null) {
+            long millis;
+            try {
+                millis = Long.parseLong(requestTimeout.trim());
+            } catch (NumberFormatException e) {
+                millis = 0;
+            }
+            if (millis <= 0) {
+                throw new IllegalArgumentException(REQUEST_TIMEOUT_HEADER + " must be a positive number of milliseconds.");
+            }
+            timeout = Duration.ofMillis(millis);
+            if (timeout.compareTo(deadlineProperties.getMaxTimeout()) > 0) {
+                timeout = deadlineProperties.getMaxTimeout();
+            }
+        }
+        return Deadline.after(timeout);
+    }
+
+    /**
+     * Answers a normalized request for the holidays of some countries in a year or a range of years from the response
+     * cache, or computes, serializes and caches the response.
+     * <p>
+     * When the response is not cached and the client sent an ETag, the version of the holidays is looked up first,
+     * within the deadline, and the response is only computed if it changed. Otherwise the ETag is derived from the
+     * holidays the response is computed from. A partial response gets neither an ETag nor a place in any cache.
+     */
+    private CompletableFuture<ResponseEntity<byte[]>> aggregate(String endpoint, CountryRequest countryRequest, String ifNoneMatch,
+                                                                Deadline deadline, Supplier<CompletableFuture<? extends FanOutResult<?>>> response) {
+        List<Integer> years = countryRequest.years();
+        List<String> countryCodes = countryRequest.getCountryCodes();
+        // A range is named by its bounds, so a single year keeps the ETag it had before ranges were supported
+        Object yearsInput = countryRequest.hasYearRange() ? years.get(0) + ".." + years.get(years.size() - 1) : years.get(0);
+        CacheControl cacheControl = responseCaching.forYear(years.get(years.size() - 1));
+        AggregateResponseCache.Key key = new AggregateResponseCache.Key(endpoint, years.get(0), years.get(years.size() - 1), countryCodes);
+
+        AggregateResponseCache.SerializedResponse cached = aggregateResponseCache.get(key);
+        if (cached != null) {
+            return CompletableFuture.completedFuture(responseCaching.matches(ifNoneMatch, cached.eTag())
+                    ? responseCaching.notModified(cached.eTag(), cacheControl)
+                    : responseCaching.okJson(cached.body(), cached.eTag(), cacheControl));
+        }
+
+        long generation = aggregateResponseCache.generation();
+        if (ifNoneMatch == null) {
+            return response.get().thenApply(result -> respond(endpoint, key, generation, yearsInput, cacheControl, result));
+        }
+        return deadline.bound(holidaysVersion(countryRequest))
+                // A version not found in time leaves it to the response to tell what was fetched
+                .handle((version, error) -> version)
+                .thenCompose(version -> {
+                    if (version != null) {
+                        String eTag = responseCaching.eTag(endpoint, version, yearsInput, countryCodes);
+                        if (responseCaching.matches(ifNoneMatch, eTag)) {
+                            return CompletableFuture.completedFuture(responseCaching.notModified(eTag, cacheControl));
+                        }
+                    }
+                    return response.get().thenApply(result -> respond(endpoint, key, generation, yearsInput, cacheControl, result));
+                });
+    }
+
+    /**
+     * Serializes a computed response, caching it with its ETag if complete.
+     */
+    private ResponseEntity<byte[]> respond(String endpoint, AggregateResponseCache.Key key, long generation, Object yearsInput,
+                                           CacheControl cacheControl, FanOutResult<?> result) {
+        if (result.isPartial()) {
+            return responseCaching.okJsonUncached(serialize(endpoint, result));
+        }
+        String eTag = responseCaching.eTag(endpoint, result.getVersion(), yearsInput, key.countryCodes());
+        return responseCaching.okJson(aggregateResponseCache.put(key, generation, eTag, result.getResults()).body(), eTag, cacheControl);
+    }
+
+    /**
+     * Serializes a response computed afresh for every request, answering with 304 instead if it is complete and its
+     * ETag matches.
+     */
+    private ResponseEntity<byte[]> computed(String endpoint, FanOutResult<?> result, String ifNoneMatch, CacheControl cacheControl,
+                                            Object... inputs) {
+        if (result.isPartial()) {
+            return responseCaching.okJsonUncached(serialize(endpoint, result));
+        }
+        String eTag = responseCaching.eTag(endpoint, result.getVersion(), inputs);
+        if (responseCaching.matches(ifNoneMatch, eTag)) {
+            return responseCaching.notModified(eTag, cacheControl);
+        }
+        return responseCaching.okJson(serialize(endpoint, result.getResults()), eTag, cacheControl);
+    }
+
+    /**
+     * Cache control of business days, which depend on the holidays of every year from one date to the other.
+     */
+    private CacheControl businessDaysCacheControl(BusinessDays businessDays) {
+        return responseCaching.forYear(Math.max(businessDays.getFromDate().getYear(), businessDays.getToDate().getYear()));
+    }
+
+    private byte[] serialize(String endpoint, Object response) {
+        try {
+            return objectMapper.writeValueAsBytes(response);
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException("Unable to serialize the " + endpoint + " response", e);
+        }
+    }
 
-        List<Holiday> commonHolidays = holidayService.getCommonHolidays(countryRequest);
-        return ResponseEntity.ok(commonHolidays);
+    private CompletableFuture<Long> holidaysVersion(CountryRequest countryRequest) {
+        return countryRequest.hasYearRange()
+                ? holidayService.getHolidaysVersion(countryRequest.years(), countryRequest.getCountryCodes())
+                : holidayService.getHolidaysVersion(countryRequest.getYear(), countryRequest.getCountryCodes());
     }
 }
@@ -0,0 +1,175 @@
+package com.holiday.api.controller;
+
+import com.holiday.api.config.HttpCacheProperties;
+import org.springframework.http.CacheControl;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import org.springframework.util.DigestUtils;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Validators and freshness lifetimes of holiday responses.
+ * <p>
+ * The strong ETag of a response is derived from the endpoint, its inputs and the version of the holidays it is
+ * computed from (see {@link com.holiday.api.domain.HolidayYear#version()}), so a conditional request can be answered
+ * with {@code 304 Not Modified} before the response is computed or serialized. Responses for past years only change
+ * when upstream corrects them and are given {@code holiday.http-cache.historical-max-age}, the others
+ * {@code holiday.http-cache.current-max-age}.
+ */
+@Component
+public class ResponseCaching {
+
+    private final HttpCacheProperties properties;
+
+    /**
+     * Instantiates a new Response caching.
+     *
+     * @param properties the http cache properties
+     */
+    public ResponseCaching(HttpCacheProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Builds the ETag of a response.
+     *
+     * @param endpoint the endpoint, such as {@code count}
+     * @param version  the version of the holidays the response is computed from
+     * @param inputs   the inputs of the response, such as the year and the country codes
+     * @return the quoted ETag
+     */
+    public String eTag(String endpoint, long version, Object... inputs) {
+        StringBuilder key = new StringBuilder(endpoint);
+        for (Object input : inputs) {
+            key.append('|').append(input);
+        }
+        key.append('|').append(Long.toHexString(version));
+        return "\"" + DigestUtils.md5DigestAsHex(key.toString().getBytes(StandardCharsets.UTF_8)) + "\"";
+    }
+
+    /**
+     * Whether an {@code If-None-Match} header matches an ETag. Weak validators are compared by their opaque tag, as
+     * required for {@code If-None-Match}.
+     *
+     * @param ifNoneMatch the header value, or {@code null} if absent
+     * @param eTag        the quoted ETag of the current response
+     * @return the boolean
+     */
+    public boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*")) {
+                return true;
+            }
+            if (tag.startsWith("W/")) {
+                tag = tag.substring(2);
+            }
+            if (tag.equals(eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Cache control of a response computed from the holidays of a year.
+     *
+     * @param year the year
+     * @return the cache control
+     */
+    public CacheControl forYear(int year) {
+        Duration maxAge = year < LocalDate.now().getYear() ? properties.getHistoricalMaxAge() : properties.getCurrentMaxAge();
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Cache control of the country catalogue, which only changes with a new release.
+     *
+     * @return the cache control
+     */
+    public CacheControl forCatalogue() {
+        return CacheControl.maxAge(properties.getHistoricalMaxAge()).cachePublic();
+    }
+
+    /**
+     * Cache control of a response that also depends on the current date, which is not reused past midnight.
+     *
+     * @return the cache control
+     */
+    public CacheControl untilEndOfDay() {
+        LocalDateTime now = LocalDateTime.now();
+        Duration untilMidnight = Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay());
+        Duration maxAge = untilMidnight.compareTo(properties.getCurrentMaxAge()) < 0 ? untilMidnight : properties.getCurrentMaxAge();
+        return CacheControl.maxAge(maxAge).cachePublic();
+    }
+
+    /**
+     * Builds a {@code 200 OK} response with its validator and cache control.
+     *
+     * @param <T>          the body type
+     * @param body         the body
+     * @param eTag         the ETag
+     * @param cacheControl the cache control
+     * @return the response entity
+     */
+    public <T> ResponseEntity<T> ok(T body, String eTag, CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(body);
+    }
+
+    /**
+     * Builds a {@code 200 OK} response of JSON serialized already, with its validator and cache control.
+     *
+     * @param json         the JSON body
+     * @param eTag         the ETag
+     * @param cacheControl the cache control
+     * @return the response entity
+     */
+    public ResponseEntity<byte[]> okJson(byte[] json, String eTag, CacheControl cacheControl) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .body(json);
+    }
+
+    /**
+     * Builds a {@code 200 OK} response of JSON serialized already, which no cache may keep, such as a partial one.
+     *
+     * @param json the JSON body
+     * @return the response entity
+     */
+    public ResponseEntity<byte[]> okJsonUncached(byte[] json) {
+        return ResponseEntity.ok()
+                .contentType(MediaType.APPLICATION_JSON)
+                .cacheControl(CacheControl.noStore())
+                .body(json);
+    }
+
+    /**
+     * Builds a {@code 304 Not Modified} response, which repeats the validator and cache control of the response it
+     * stands for.
+     *
+     * @param <T>          the body type
+     * @param eTag         the ETag
+     * @param cacheControl the cache control
+     * @return the response entity
+     */
+    public <T> ResponseEntity<T> notModified(String eTag, CacheControl cacheControl) {
+        return ResponseEntity.status(HttpStatus.NOT_MODIFIED)
+                .eTag(eTag)
+                .cacheControl(cacheControl)
+                .build();
+    }
+}
@@ -0,0 +1,20 @@
+package com.holiday.api.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+
+/**
+ * The type Business days, the number of business days after {@code fromDate} up to and including {@code toDate}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BusinessDays {
+
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private long businessDays;
+}
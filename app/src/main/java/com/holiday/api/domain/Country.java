@@ -0,0 +1,17 @@
+package com.holiday.api.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Country.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class Country {
+
+    private String countryCode;
+    private String name;
+}
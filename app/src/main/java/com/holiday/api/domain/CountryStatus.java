@@ -0,0 +1,33 @@
+package com.holiday.api.domain;
+
+/**
+ * The outcome of the lookups made for one country of a multi-country request, ordered from best to worst.
+ */
+public enum CountryStatus {
+
+    /**
+     * Every lookup of the country succeeded.
+     */
+    OK,
+
+    /**
+     * A lookup of the country was not done by the request deadline.
+     */
+    TIMED_OUT,
+
+    /**
+     * A lookup of the country failed, for example because upstream was unavailable and nothing was stored.
+     */
+    FAILED;
+
+    /**
+     * Gets the worse of two statuses.
+     *
+     * @param first  the first status
+     * @param second the second status
+     * @return the worse status
+     */
+    public static CountryStatus worse(CountryStatus first, CountryStatus second) {
+        return first.compareTo(second) >= 0 ? first : second;
+    }
+}
@@ -0,0 +1,42 @@
+package com.holiday.api.domain;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonPropertyOrder;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Map;
+
+/**
+ * The result of a multi-country request, with the status of each country.
+ * <p>
+ * The results only cover the countries whose holidays were fetched in time. When a country timed out or failed, the
+ * result is partial and serialized as a whole: {@code {"partial":true,"results":..,"countryStatus":..}}.
+ *
+ * @param <T> the results type
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+@JsonPropertyOrder({"partial", "results", "countryStatus"})
+public class FanOutResult<T> {
+
+    private T results;
+    private Map<String, CountryStatus> countryStatus;
+
+    /**
+     * The version of the holidays the results were computed from, only meaningful for a complete result.
+     */
+    @JsonIgnore
+    private long version;
+
+    /**
+     * Whether a country timed out or failed, and is missing from the results.
+     *
+     * @return the boolean
+     */
+    public boolean isPartial() {
+        return countryStatus.values().stream().anyMatch(status -> status != CountryStatus.OK);
+    }
+}
@@ -0,0 +1,18 @@
+package com.holiday.api.domain;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * The type Holiday count.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HolidayCount {
+
+    private int year;
+    private String countryCode;
+    private long count;
+}
@@ -0,0 +1,15 @@
+package com.holiday.api.domain;
+
+/**
+ * Identifies the holidays of one country in one year.
+ *
+ * @param year        the year
+ * @param countryCode the country code
+ */
+public record HolidayKey(int year, String countryCode) {
+
+    @Override
+    public String toString() {
+        return countryCode + "/" + year;
+    }
+}
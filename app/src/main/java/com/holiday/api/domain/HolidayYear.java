@@ -0,0 +1,322 @@
+package com.holiday.api.domain;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * Compact, immutable holidays of one country in one year.
+ * <p>
+ * Holidays are held as epoch days sorted in ascending order with their local names alongside, names being interned
+ * across all years and countries. A 366-bit day-of-year bitmap answers "is this day a holiday" with a single bit
+ * test. {@link Holiday} objects are only created when {@link #toHolidays()} or {@link #holidayAt(int)} is called.
+ * <p>
+ * For a typical year of 12 holidays this takes about 220 bytes, against roughly 1.3 KB for a list of
+ * {@link Holiday} objects each holding its own {@link LocalDate} and name.
+ */
+public final class HolidayYear {
+
+    /**
+     * Number of 64-bit words in a day-of-year bitmap.
+     */
+    public static final int WORDS = 6;
+
+    private static final ConcurrentMap<String, String> NAMES = new ConcurrentHashMap<>();
+
+    private final int year;
+    private final long[] days;
+    private final int[] epochDays;
+    private final String[] names;
+    private final long version;
+
+    private HolidayYear(int year, long[] days, int[] epochDays, String[] names) {
+        this.year = year;
+        this.days = days;
+        this.epochDays = epochDays;
+        this.names = names;
+        this.version = version(year, epochDays, names);
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the year, the days and the names.
+     */
+    private static long version(int year, int[] epochDays, String[] names) {
+        long hash = 0xcbf29ce484222325L;
+        hash = (hash ^ year) * 0x100000001b3L;
+        for (int i = 0; i < epochDays.length; i++) {
+            hash = (hash ^ epochDays[i]) * 0x100000001b3L;
+            hash = (hash ^ (names[i] == null ? 0 : names[i].hashCode())) * 0x100000001b3L;
+        }
+        return hash;
+    }
+
+    /**
+     * Builds the compact form of a list of holidays.
+     *
+     * @param year     the year
+     * @param holidays the holidays
+     * @return the holiday year
+     */
+    public static HolidayYear of(int year, List<Holiday> holidays) {
+        Builder builder = builder(year);
+        for (Holiday holiday : holidays) {
+            builder.add(holiday.getDate().toEpochDay(), holiday.getLocalName());
+        }
+        return builder.build();
+    }
+
+    /**
+     * Creates a builder.
+     *
+     * @param year the year
+     * @return the builder
+     */
+    public static Builder builder(int year) {
+        return new Builder(year);
+    }
+
+    /**
+     * Gets the year.
+     *
+     * @return the year
+     */
+    public int year() {
+        return year;
+    }
+
+    /**
+     * Gets the version of the holidays, a hash that is the same for equal holiday years and changes whenever the
+     * holidays or their names do.
+     *
+     * @return the version
+     */
+    public long version() {
+        return version;
+    }
+
+    /**
+     * Number of holidays, including several holidays falling on the same day.
+     *
+     * @return the size
+     */
+    public int size() {
+        return epochDays.length;
+    }
+
+    /**
+     * Whether there are no holidays.
+     *
+     * @return the boolean
+     */
+    public boolean isEmpty() {
+        return epochDays.length == 0;
+    }
+
+    /**
+     * Whether a date is a holiday.
+     *
+     * @param date the date
+     * @return the boolean
+     */
+    public boolean isHoliday(LocalDate date) {
+        return date.getYear() == year && isHolidayOnDayOfYear(date.getDayOfYear());
+    }
+
+    /**
+     * Whether a day of this year is a holiday.
+     *
+     * @param dayOfYear the day of year, from 1
+     * @return the boolean
+     */
+    public boolean isHolidayOnDayOfYear(int dayOfYear) {
+        int bit = dayOfYear - 1;
+        return (days[bit >>> 6] & (1L << bit)) != 0;
+    }
+
+    /**
+     * Gets a word of the day-of-year bitmap, bit {@code n} of word {@code i} standing for day {@code 64 * i + n + 1}.
+     *
+     * @param index the word index, below {@link #WORDS}
+     * @return the word
+     */
+    public long word(int index) {
+        return days[index];
+    }
+
+    /**
+     * Gets the epoch day of the holiday at an index.
+     *
+     * @param index the index
+     * @return the epoch day
+     */
+    public int epochDayAt(int index) {
+        return epochDays[index];
+    }
+
+    /**
+     * Gets the local name of the holiday at an index.
+     *
+     * @param index the index
+     * @return the local name
+     */
+    public String nameAt(int index) {
+        return names[index];
+    }
+
+    /**
+     * Gets the local name of the first holiday on a date.
+     *
+     * @param date the date
+     * @return the local name, or {@code null} if the date is not a holiday
+     */
+    public String nameOn(LocalDate date) {
+        int index = Arrays.binarySearch(epochDays, (int) date.toEpochDay());
+        if (index < 0) {
+            return null;
+        }
+        while (index > 0 && epochDays[index - 1] == epochDays[index]) {
+            index--;
+        }
+        return names[index];
+    }
+
+    /**
+     * Counts the holidays not falling on a Saturday or Sunday.
+     *
+     * @return the count
+     */
+    public long countWeekdayHolidays() {
+        long count = 0;
+        for (int epochDay : epochDays) {
+            if (!isWeekend(epochDay)) {
+                count++;
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Creates the holiday at an index.
+     *
+     * @param index the index
+     * @return the holiday
+     */
+    public Holiday holidayAt(int index) {
+        return new Holiday(LocalDate.ofEpochDay(epochDays[index]), null, names[index]);
+    }
+
+    /**
+     * Creates the holidays, sorted by date.
+     *
+     * @return the holidays
+     */
+    public List<Holiday> toHolidays() {
+        List<Holiday> holidays = new ArrayList<>(epochDays.length);
+        for (int i = 0; i < epochDays.length; i++) {
+            holidays.add(holidayAt(i));
+        }
+        return holidays;
+    }
+
+    /**
+     * Whether an epoch day is a Saturday or a Sunday.
+     *
+     * @param epochDay the epoch day
+     * @return the boolean
+     */
+    public static boolean isWeekend(long epochDay) {
+        // 1970-01-01 was a Thursday, so Saturday and Sunday are 5 and 6
+        return Math.floorMod(epochDay + 3, 7) >= 5;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        return o instanceof HolidayYear other
+                && year == other.year
+                && Arrays.equals(epochDays, other.epochDays)
+                && Arrays.equals(names, other.names);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * (31 * year + Arrays.hashCode(epochDays)) + Arrays.hashCode(names);
+    }
+
+    @Override
+    public String toString() {
+        return "HolidayYear(year=" + year + ", holidays=" + toHolidays() + ")";
+    }
+
+    /**
+     * Collects holidays in any order and builds a {@link HolidayYear}.
+     */
+    public static final class Builder {
+
+        private final int year;
+        private int[] epochDays = new int[16];
+        private String[] names = new String[16];
+        private int size;
+
+        private Builder(int year) {
+            this.year = year;
+        }
+
+        /**
+         * Adds a holiday.
+         *
+         * @param epochDay  the epoch day
+         * @param localName the local name
+         * @return the builder
+         */
+        public Builder add(long epochDay, String localName) {
+            if (size == epochDays.length) {
+                epochDays = Arrays.copyOf(epochDays, size * 2);
+                names = Arrays.copyOf(names, size * 2);
+            }
+            epochDays[size] = Math.toIntExact(epochDay);
+            names[size] = localName == null ? null : NAMES.computeIfAbsent(localName, name -> name);
+            size++;
+            return this;
+        }
+
+        /**
+         * Builds the holiday year.
+         *
+         * @return the holiday year
+         */
+        public HolidayYear build() {
+            int[] sortedDays = Arrays.copyOf(epochDays, size);
+            String[] sortedNames = Arrays.copyOf(names, size);
+            // Insertion sort keeps holidays on the same day in their original order and is linear for the
+            // already sorted lists upstream returns
+            for (int i = 1; i < size; i++) {
+                int day = sortedDays[i];
+                String name = sortedNames[i];
+                int j = i - 1;
+                while (j >= 0 && sortedDays[j] > day) {
+                    sortedDays[j + 1] = sortedDays[j];
+                    sortedNames[j + 1] = sortedNames[j];
+                    j--;
+                }
+                sortedDays[j + 1] = day;
+                sortedNames[j + 1] = name;
+            }
+
+            long[] days = new long[WORDS];
+            for (int epochDay : sortedDays) {
+                LocalDate date = LocalDate.ofEpochDay(epochDay);
+                if (date.getYear() == year) {
+                    int bit = date.getDayOfYear() - 1;
+                    days[bit >>> 6] |= 1L << bit;
+                }
+            }
+            return new HolidayYear(year, days, sortedDays, sortedNames);
+        }
+    }
+}
@@ -54,6 +54,28 @@ public class GlobalExceptionHandler {
         return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "External service is unreachable: " + ex.getMessage());
     }
 
+    /**
+     * Handles upstream timeouts.
+     *
+     * @param ex the ex
+     * @return the response entity
+     */
+    @ExceptionHandler(UpstreamTimeoutException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamTimeoutException(UpstreamTimeoutException ex) {
+        return buildErrorResponse(HttpStatus.GATEWAY_TIMEOUT, "External service timed out: " + ex.getMessage());
+    }
+
+    /**
+     * Handles an unavailable upstream (e.g., open circuit breaker or retries exhausted).
+     *
+     * @param ex the ex
+     * @return the response entity
+     */
+    @ExceptionHandler(UpstreamUnavailableException.class)
+    public ResponseEntity<Map<String, Object>> handleUpstreamUnavailableException(UpstreamUnavailableException ex) {
+        return buildErrorResponse(HttpStatus.SERVICE_UNAVAILABLE, "External service is unavailable: " + ex.getMessage());
+    }
+
     @ExceptionHandler(HttpMessageNotReadableException.class)
     public ResponseEntity<Map<String, Object>> handleHttpMessageNotReadableException(HttpMessageNotReadableException ex) {
         return buildErrorResponse(HttpStatus.BAD_REQUEST, ex.getMessage());
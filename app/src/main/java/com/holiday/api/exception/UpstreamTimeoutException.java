@@ -0,0 +1,27 @@
+package com.holiday.api.exception;
+
+/**
+ * Thrown when the upstream holiday API did not respond within the request timeout, or the deadline of the inbound
+ * request passed before it could be called.
+ */
+public class UpstreamTimeoutException extends UpstreamUnavailableException {
+
+    /**
+     * Instantiates a new Upstream timeout exception.
+     *
+     * @param message the message
+     */
+    public UpstreamTimeoutException(String message) {
+        super(message);
+    }
+
+    /**
+     * Instantiates a new Upstream timeout exception.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public UpstreamTimeoutException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
@@ -0,0 +1,27 @@
+package com.holiday.api.exception;
+
+/**
+ * Thrown when the upstream holiday API cannot answer: its circuit breaker is open, too many calls to it are in
+ * flight, or it kept failing after being retried.
+ */
+public class UpstreamUnavailableException extends RuntimeException {
+
+    /**
+     * Instantiates a new Upstream unavailable exception.
+     *
+     * @param message the message
+     */
+    public UpstreamUnavailableException(String message) {
+        super(message);
+    }
+
+    /**
+     * Instantiates a new Upstream unavailable exception.
+     *
+     * @param message the message
+     * @param cause   the cause
+     */
+    public UpstreamUnavailableException(String message, Throwable cause) {
+        super(message, cause);
+    }
+}
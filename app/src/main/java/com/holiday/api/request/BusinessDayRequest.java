@@ -0,0 +1,39 @@
+package com.holiday.api.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The type Business day request.
+ * <p>
+ * Business days are the days that are neither a Saturday or Sunday nor a holiday in any of {@code countryCodes}. A
+ * request either moves {@code fromDate} by {@code days} business days, or counts the business days from
+ * {@code fromDate} to {@code toDate}.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class BusinessDayRequest {
+    private LocalDate fromDate;
+    private LocalDate toDate;
+    private Long days;
+    private List<String> countryCodes;
+
+    /**
+     * Gets the same request with its country codes upper-cased, de-duplicated and sorted.
+     *
+     * @return the normalized request
+     */
+    public BusinessDayRequest normalized() {
+        List<String> normalizedCodes = countryCodes == null ? List.of() : countryCodes.stream()
+                .map(CountryRequest::normalizeCountryCode)
+                .distinct()
+                .sorted()
+                .toList();
+        return new BusinessDayRequest(fromDate, toDate, days, normalizedCodes);
+    }
+}
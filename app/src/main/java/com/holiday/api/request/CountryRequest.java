@@ -5,14 +5,84 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 import java.util.List;
+import java.util.Locale;
+import java.util.stream.IntStream;
 
 /**
  * The type Country request.
+ * <p>
+ * A request is either for a single {@code year}, or for every year from {@code fromYear} to {@code toYear}
+ * inclusive, in which case {@code year} is ignored.
  */
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class CountryRequest {
     private int year;
+    private Integer fromYear;
+    private Integer toYear;
     private List<String> countryCodes;
+
+    /**
+     * Instantiates a new Country request for a single year.
+     *
+     * @param year         the year
+     * @param countryCodes the country codes
+     */
+    public CountryRequest(int year, List<String> countryCodes) {
+        this(year, null, null, countryCodes);
+    }
+
+    /**
+     * Whether the request is for a range of years rather than a single one.
+     *
+     * @return the boolean
+     */
+    public boolean hasYearRange() {
+        return fromYear != null || toYear != null;
+    }
+
+    /**
+     * Gets the years the request is for, in ascending order.
+     *
+     * @return the years
+     */
+    public List<Integer> years() {
+        if (!hasYearRange()) {
+            return List.of(year);
+        }
+        if (fromYear == null || toYear == null) {
+            throw new IllegalArgumentException("Both fromYear and toYear are required for a range of years.");
+        }
+        return IntStream.rangeClosed(fromYear, toYear).boxed().toList();
+    }
+
+    /**
+     * Gets the same request with its country codes upper-cased, de-duplicated and sorted, so that requests asking
+     * for the same thing are equal.
+     *
+     * @return the normalized request
+     */
+    public CountryRequest normalized() {
+        List<String> normalizedCodes = countryCodes == null ? List.of() : countryCodes.stream()
+                .map(CountryRequest::normalizeCountryCode)
+                .distinct()
+                .sorted()
+                .toList();
+        return new CountryRequest(year, fromYear, toYear, normalizedCodes);
+    }
+
+    /**
+     * Normalizes a country code as the country catalogue lists it: trimmed and upper-cased.
+     *
+     * @param countryCode the country code
+     * @return the normalized country code
+     * @throws IllegalArgumentException if the country code is null or blank
+     */
+    public static String normalizeCountryCode(String countryCode) {
+        if (countryCode == null || countryCode.isBlank()) {
+            throw new IllegalArgumentException("Country codes must not be null or blank.");
+        }
+        return countryCode.trim().toUpperCase(Locale.ROOT);
+    }
 }
@@ -0,0 +1,52 @@
+package com.holiday.api.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * The type Holiday check request.
+ * <p>
+ * Asks whether each of {@code dates} is a holiday in each of {@code countryCodes}. The dates may span several years.
+ */
+@Data
+@AllArgsConstructor
+@NoArgsConstructor
+public class HolidayCheckRequest {
+    private List<LocalDate> dates;
+    private List<String> countryCodes;
+
+    /**
+     * Gets the same request with its dates de-duplicated in request order, and its country codes upper-cased,
+     * de-duplicated and sorted.
+     *
+     * @return the normalized request
+     */
+    public HolidayCheckRequest normalized() {
+        List<LocalDate> normalizedDates = dates == null ? List.of() : dates.stream()
+                .distinct()
+                .toList();
+        List<String> normalizedCodes = countryCodes == null ? List.of() : countryCodes.stream()
+                .map(CountryRequest::normalizeCountryCode)
+                .distinct()
+                .sorted()
+                .toList();
+        return new HolidayCheckRequest(normalizedDates, normalizedCodes);
+    }
+
+    /**
+     * Gets the distinct years of the dates, in ascending order.
+     *
+     * @return the years
+     */
+    public List<Integer> years() {
+        return dates.stream()
+                .map(LocalDate::getYear)
+                .distinct()
+                .sorted()
+                .toList();
+    }
+}
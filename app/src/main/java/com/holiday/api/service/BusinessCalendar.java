@@ -0,0 +1,207 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.HolidayYear;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.Year;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Business days of a run of consecutive years, in the union of the holidays of several countries.
+ * <p>
+ * Each year is held as a day-of-year bitmap of its business days: the complement of the OR of the countries' holiday
+ * bitmaps and a weekend bitmap, the latter precomputed for each day of the week a year can start on. Counting and
+ * stepping over business days then works a 64-bit word at a time with {@link Long#bitCount(long)}, only looking at
+ * single days within the last word.
+ */
+public final class BusinessCalendar {
+
+    /**
+     * Saturday and Sunday bits of a 366-day year starting on each day of the week, indexed by
+     * {@link DayOfWeek#ordinal()}.
+     */
+    private static final long[][] WEEKENDS = new long[DayOfWeek.values().length][HolidayYear.WORDS];
+
+    static {
+        for (DayOfWeek firstDay : DayOfWeek.values()) {
+            for (int bit = 0; bit < 366; bit++) {
+                if (firstDay.plus(bit).getValue() >= DayOfWeek.SATURDAY.getValue()) {
+                    WEEKENDS[firstDay.ordinal()][bit >>> 6] |= 1L << bit;
+                }
+            }
+        }
+    }
+
+    private final int firstYear;
+    private final long[][] businessDays;
+
+    private BusinessCalendar(int firstYear, long[][] businessDays) {
+        this.firstYear = firstYear;
+        this.businessDays = businessDays;
+    }
+
+    /**
+     * Builds the business days of consecutive years.
+     *
+     * @param firstYear      the first year
+     * @param lastYear       the last year, inclusive
+     * @param holidaysByYear the holidays of every country by year, countries missing from a year having no holidays
+     * @return the business calendar
+     */
+    public static BusinessCalendar of(int firstYear, int lastYear, Map<Integer, ? extends Map<String, HolidayYear>> holidaysByYear) {
+        long[][] businessDays = new long[lastYear - firstYear + 1][];
+        for (int year = firstYear; year <= lastYear; year++) {
+            Map<String, HolidayYear> holidays = holidaysByYear.get(year);
+            businessDays[year - firstYear] = businessDays(year, holidays == null ? List.of() : holidays.values());
+        }
+        return new BusinessCalendar(firstYear, businessDays);
+    }
+
+    private static long[] businessDays(int year, Collection<HolidayYear> holidays) {
+        long[] weekends = WEEKENDS[LocalDate.of(year, 1, 1).getDayOfWeek().ordinal()];
+        int length = Year.of(year).length();
+        long[] words = new long[HolidayYear.WORDS];
+        for (int w = 0; w < HolidayYear.WORDS; w++) {
+            long closed = weekends[w];
+            for (HolidayYear holidayYear : holidays) {
+                closed |= holidayYear.word(w);
+            }
+            words[w] = ~closed & daysInWord(w, length);
+        }
+        return words;
+    }
+
+    /**
+     * Bits of a word standing for a day of a year of the given length.
+     */
+    private static long daysInWord(int word, int length) {
+        int days = length - (word << 6);
+        if (days >= Long.SIZE) {
+            return -1L;
+        }
+        return days <= 0 ? 0 : (1L << days) - 1;
+    }
+
+    /**
+     * Gets the last year.
+     *
+     * @return the last year
+     */
+    public int lastYear() {
+        return firstYear + businessDays.length - 1;
+    }
+
+    /**
+     * Counts the business days after a date up to and including another, so that adding that many business days to
+     * the first date gives the last business day on or before the second. The count is negative when the second date
+     * is before the first.
+     *
+     * @param from the date to count from, not included
+     * @param to   the date to count to, included, both within the years of the calendar
+     * @return the count
+     */
+    public long countBusinessDays(LocalDate from, LocalDate to) {
+        if (to.isBefore(from)) {
+            return -countBusinessDays(to, from);
+        }
+        long count = 0;
+        for (int year = from.getYear(); year <= to.getYear(); year++) {
+            // Bit n stands for day of year n + 1, so the day after a date starts at bit dayOfYear
+            int fromBit = year == from.getYear() ? from.getDayOfYear() : 0;
+            int toBit = year == to.getYear() ? to.getDayOfYear() : Year.of(year).length();
+            count += countBits(words(year), fromBit, toBit);
+        }
+        return count;
+    }
+
+    /**
+     * Moves a date by a number of business days, forward for a positive number and backward for a negative one.
+     *
+     * @param date the date, within the years of the calendar
+     * @param days the number of business days, {@code 0} giving the date itself
+     * @return the date that many business days away, or {@code null} if it falls outside the years of the calendar
+     */
+    public LocalDate addBusinessDays(LocalDate date, long days) {
+        if (days == 0) {
+            return date;
+        }
+        return days > 0 ? forward(date, days) : backward(date, -days);
+    }
+
+    private LocalDate forward(LocalDate date, long days) {
+        long remaining = days;
+        int fromBit = date.getDayOfYear();
+        for (int year = date.getYear(); year <= lastYear(); year++) {
+            long[] words = words(year);
+            for (int w = fromBit >>> 6; w < HolidayYear.WORDS; w++) {
+                long bits = w == fromBit >>> 6 ? words[w] & (-1L << fromBit) : words[w];
+                int count = Long.bitCount(bits);
+                if (count >= remaining) {
+                    for (long skip = remaining - 1; skip > 0; skip--) {
+                        bits &= bits - 1;
+                    }
+                    return LocalDate.ofYearDay(year, (w << 6) + Long.numberOfTrailingZeros(bits) + 1);
+                }
+                remaining -= count;
+            }
+            fromBit = 0;
+        }
+        return null;
+    }
+
+    private LocalDate backward(LocalDate date, long days) {
+        long remaining = days;
+        // Exclusive bound, the date itself being bit dayOfYear - 1
+        int toBit = date.getDayOfYear() - 1;
+        for (int year = date.getYear(); year >= firstYear; year--) {
+            long[] words = words(year);
+            for (int w = (toBit - 1) >> 6; w >= 0; w--) {
+                long bits = w == (toBit - 1) >> 6 ? words[w] & (-1L >>> (63 - ((toBit - 1) & 63))) : words[w];
+                int count = Long.bitCount(bits);
+                if (count >= remaining) {
+                    for (long skip = remaining - 1; skip > 0; skip--) {
+                        bits &= ~Long.highestOneBit(bits);
+                    }
+                    return LocalDate.ofYearDay(year, (w << 6) + 63 - Long.numberOfLeadingZeros(bits) + 1);
+                }
+                remaining -= count;
+            }
+            toBit = Year.of(year - 1).length();
+        }
+        return null;
+    }
+
+    /**
+     * Counts the set bits from {@code fromBit} inclusive to {@code toBit} exclusive.
+     */
+    private static long countBits(long[] words, int fromBit, int toBit) {
+        if (fromBit >= toBit) {
+            return 0;
+        }
+        int firstWord = fromBit >>> 6;
+        int lastWord = (toBit - 1) >>> 6;
+        long count = 0;
+        for (int w = firstWord; w <= lastWord; w++) {
+            long bits = words[w];
+            if (w == firstWord) {
+                bits &= -1L << fromBit;
+            }
+            if (w == lastWord) {
+                bits &= -1L >>> (63 - ((toBit - 1) & 63));
+            }
+            count += Long.bitCount(bits);
+        }
+        return count;
+    }
+
+    private long[] words(int year) {
+        if (year < firstYear || year > lastYear()) {
+            throw new IllegalArgumentException("Year " + year + " is outside the business calendar of "
+                    + firstYear + " to " + lastYear());
+        }
+        return businessDays[year - firstYear];
+    }
+}
@@ -0,0 +1,50 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.HolidayYear;
+
+/**
+ * The holidays cached for a (year, country) pair, or the fact that upstream has none.
+ *
+ * @param holidays the holidays, {@code null} when upstream answered "not found"
+ */
+public record CachedHolidays(HolidayYear holidays) {
+
+    private static final CachedHolidays NOT_FOUND = new CachedHolidays(null);
+
+    /**
+     * Wraps holidays returned by upstream.
+     *
+     * @param holidays the holidays
+     * @return the cached holidays
+     */
+    public static CachedHolidays found(HolidayYear holidays) {
+        return new CachedHolidays(holidays);
+    }
+
+    /**
+     * Marks a (year, country) pair upstream has no holidays for.
+     *
+     * @return the cached holidays
+     */
+    public static CachedHolidays notFound() {
+        return NOT_FOUND;
+    }
+
+    /**
+     * Whether upstream answered "not found".
+     *
+     * @return the boolean
+     */
+    public boolean isNotFound() {
+        return holidays == null;
+    }
+
+    /**
+     * Number of holidays held.
+     *
+     * @return the size
+     */
+    public int size() {
+        return holidays == null ? 0 : holidays.size();
+    }
+}
@@ -0,0 +1,178 @@
+package com.holiday.api.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * Count-based circuit breaker.
+ * <p>
+ * While closed, the outcome of the last {@code slidingWindowSize} calls is kept, and the breaker opens once at least
+ * {@code minimumCalls} of them are known and the share of failures reaches {@code failureRateThreshold} percent.
+ * While open, calls are rejected without being attempted. After {@code openDuration}, {@code halfOpenCalls} trial
+ * calls are let through: if all succeed the breaker closes, if any fails it opens again.
+ */
+@Slf4j
+public class CircuitBreaker {
+
+    /**
+     * The circuit breaker state.
+     */
+    public enum State {
+        /**
+         * Calls are let through.
+         */
+        CLOSED,
+        /**
+         * Calls are rejected.
+         */
+        OPEN,
+        /**
+         * A limited number of trial calls are let through.
+         */
+        HALF_OPEN
+    }
+
+    private final String name;
+    private final int failureRateThreshold;
+    private final int minimumCalls;
+    private final long openDurationNanos;
+    private final int halfOpenCalls;
+    private final Ticker ticker;
+
+    private final boolean[] window;
+    private int windowNext;
+    private int windowCalls;
+    private int windowFailures;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int halfOpenPermits;
+    private int halfOpenSuccesses;
+
+    /**
+     * Instantiates a new Circuit breaker.
+     *
+     * @param name                 the name, used in logs
+     * @param failureRateThreshold the failure percentage at which the breaker opens
+     * @param slidingWindowSize    the number of most recent calls the failure rate is computed over
+     * @param minimumCalls         the number of calls needed before the failure rate is evaluated
+     * @param openDurationNanos    how long the breaker stays open before trial calls are let through
+     * @param halfOpenCalls        the number of trial calls
+     * @param ticker               the time source
+     */
+    public CircuitBreaker(String name, int failureRateThreshold, int slidingWindowSize, int minimumCalls,
+                          long openDurationNanos, int halfOpenCalls, Ticker ticker) {
+        this.name = name;
+        this.failureRateThreshold = failureRateThreshold;
+        this.window = new boolean[slidingWindowSize];
+        this.minimumCalls = Math.min(minimumCalls, slidingWindowSize);
+        this.openDurationNanos = openDurationNanos;
+        this.halfOpenCalls = halfOpenCalls;
+        this.ticker = ticker;
+    }
+
+    /**
+     * Asks for permission to make a call. Every permitted call must be followed by {@link #onSuccess()},
+     * {@link #onFailure()} or {@link #releasePermission()}.
+     *
+     * @return whether the call may be made
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (ticker.read() - openedAt < openDurationNanos) {
+                return false;
+            }
+            transitionTo(State.HALF_OPEN);
+            halfOpenPermits = halfOpenCalls;
+            halfOpenSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (halfOpenPermits == 0) {
+                return false;
+            }
+            halfOpenPermits--;
+        }
+        return true;
+    }
+
+    /**
+     * Records a successful call.
+     */
+    public synchronized void onSuccess() {
+        if (state == State.CLOSED) {
+            record(false);
+            openIfFailureRateReached();
+        } else if (state == State.HALF_OPEN && ++halfOpenSuccesses >= halfOpenCalls) {
+            transitionTo(State.CLOSED);
+        }
+    }
+
+    /**
+     * Records a failed call.
+     */
+    public synchronized void onFailure() {
+        if (state == State.CLOSED) {
+            record(true);
+            openIfFailureRateReached();
+        } else if (state == State.HALF_OPEN) {
+            open();
+        }
+    }
+
+    /**
+     * Gives back the permission of a call that ended without an outcome, such as one that was interrupted.
+     */
+    public synchronized void releasePermission() {
+        if (state == State.HALF_OPEN && halfOpenPermits < halfOpenCalls - halfOpenSuccesses) {
+            halfOpenPermits++;
+        }
+    }
+
+    /**
+     * Gets the current state. An open breaker whose open duration has passed is reported as open until the next
+     * call asks for permission.
+     *
+     * @return the state
+     */
+    public synchronized State getState() {
+        return state;
+    }
+
+    private void record(boolean failure) {
+        if (windowCalls == window.length) {
+            if (window[windowNext]) {
+                windowFailures--;
+            }
+        } else {
+            windowCalls++;
+        }
+        window[windowNext] = failure;
+        if (failure) {
+            windowFailures++;
+        }
+        windowNext = (windowNext + 1) % window.length;
+    }
+
+    /**
+     * Opens the breaker once enough calls are known and the share of failures among them reaches the threshold. A
+     * success can reach it too, by making up the minimum number of calls.
+     */
+    private void openIfFailureRateReached() {
+        if (windowCalls >= minimumCalls && windowFailures * 100 >= failureRateThreshold * windowCalls) {
+            open();
+        }
+    }
+
+    private void open() {
+        openedAt = ticker.read();
+        transitionTo(State.OPEN);
+    }
+
+    private void transitionTo(State next) {
+        log.warn("Circuit breaker {} changed from {} to {}", name, state, next);
+        state = next;
+        windowNext = 0;
+        windowCalls = 0;
+        windowFailures = 0;
+    }
+}
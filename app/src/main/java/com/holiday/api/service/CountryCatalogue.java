@@ -0,0 +1,88 @@
+package com.holiday.api.service;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.domain.Country;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The supported countries, as listed in {@code static/countries.json}. They are read once on startup and held in
+ * immutable collections, so country codes can be checked without reaching upstream.
+ */
+@Component
+@Slf4j
+public class CountryCatalogue {
+
+    private static final String COUNTRIES_RESOURCE = "static/countries.json";
+
+    private final List<Country> countries;
+    private final List<String> countryCodes;
+    private final Set<String> knownCodes;
+    private final long version;
+
+    /**
+     * Instantiates a new Country catalogue.
+     *
+     * @param objectMapper the object mapper
+     */
+    public CountryCatalogue(ObjectMapper objectMapper) {
+        try (InputStream in = new ClassPathResource(COUNTRIES_RESOURCE).getInputStream()) {
+            this.countries = List.copyOf(objectMapper.readValue(in, new TypeReference<List<Country>>() {
+            }));
+        } catch (IOException e) {
+            throw new UncheckedIOException("Unable to read " + COUNTRIES_RESOURCE, e);
+        }
+        this.countryCodes = countries.stream()
+                .map(Country::getCountryCode)
+                .toList();
+        this.knownCodes = Set.copyOf(countryCodes);
+        this.version = countries.hashCode();
+        log.info("Loaded {} countries from {}", countries.size(), COUNTRIES_RESOURCE);
+    }
+
+    /**
+     * Gets the supported countries.
+     *
+     * @return the countries
+     */
+    public List<Country> getCountries() {
+        return countries;
+    }
+
+    /**
+     * Gets the codes of the supported countries.
+     *
+     * @return the country codes
+     */
+    public List<String> getCountryCodes() {
+        return countryCodes;
+    }
+
+    /**
+     * Whether a country code is supported. The code is expected to be normalized already, see
+     * {@link com.holiday.api.request.CountryRequest#normalizeCountryCode(String)}.
+     *
+     * @param countryCode the country code
+     * @return the boolean
+     */
+    public boolean isKnown(String countryCode) {
+        return knownCodes.contains(countryCode);
+    }
+
+    /**
+     * Gets the version of the catalogue, which changes with the countries it lists.
+     *
+     * @return the version
+     */
+    public long getVersion() {
+        return version;
+    }
+}
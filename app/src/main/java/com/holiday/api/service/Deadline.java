@@ -0,0 +1,96 @@
+package com.holiday.api.service;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * The point in time by which an inbound request must be answered. It bounds how long the request waits for its
+ * lookups, and every upstream call made on its behalf: no attempt starts once it has passed, and an attempt's
+ * timeout never runs past it.
+ */
+public final class Deadline {
+
+    private static final Deadline NONE = new Deadline(false, 0);
+
+    /**
+     * Upstream calls are always given at least this long, so a deadline about to pass does not produce an invalid
+     * request timeout.
+     */
+    private static final Duration MIN_CALL_TIMEOUT = Duration.ofMillis(1);
+
+    private final boolean bounded;
+    private final long deadlineNanos;
+
+    private Deadline(boolean bounded, long deadlineNanos) {
+        this.bounded = bounded;
+        this.deadlineNanos = deadlineNanos;
+    }
+
+    /**
+     * A deadline some time from now.
+     *
+     * @param timeout the time left until the deadline
+     * @return the deadline
+     */
+    public static Deadline after(Duration timeout) {
+        return new Deadline(true, System.nanoTime() + timeout.toNanos());
+    }
+
+    /**
+     * No deadline, for work done outside of an inbound request.
+     *
+     * @return the deadline
+     */
+    public static Deadline none() {
+        return NONE;
+    }
+
+    /**
+     * Gets the time left until the deadline.
+     *
+     * @return the remaining nanos, zero once passed, or {@link Long#MAX_VALUE} if there is no deadline
+     */
+    public long remainingNanos() {
+        return bounded ? Math.max(0, deadlineNanos - System.nanoTime()) : Long.MAX_VALUE;
+    }
+
+    /**
+     * Whether the deadline has passed.
+     *
+     * @return the boolean
+     */
+    public boolean isExpired() {
+        return bounded && deadlineNanos - System.nanoTime() <= 0;
+    }
+
+    /**
+     * Shortens a timeout so it does not run past the deadline.
+     *
+     * @param timeout the timeout
+     * @return the timeout, or the time left until the deadline if shorter
+     */
+    public Duration cap(Duration timeout) {
+        if (!bounded) {
+            return timeout;
+        }
+        Duration remaining = Duration.ofNanos(remainingNanos());
+        if (remaining.compareTo(MIN_CALL_TIMEOUT) < 0) {
+            remaining = MIN_CALL_TIMEOUT;
+        }
+        return remaining.compareTo(timeout) < 0 ? remaining : timeout;
+    }
+
+    /**
+     * Completes a future with a {@link java.util.concurrent.TimeoutException} if it is not done by the deadline, or
+     * within a millisecond once it has passed, so work that is already done, such as a cache hit, still makes it. The
+     * work behind the future is not interrupted.
+     *
+     * @param <T>    the result type
+     * @param future the future
+     * @return the same future
+     */
+    public <T> CompletableFuture<T> bound(CompletableFuture<T> future) {
+        return bounded ? future.orTimeout(Math.max(remainingNanos(), MIN_CALL_TIMEOUT.toNanos()), TimeUnit.NANOSECONDS) : future;
+    }
+}
@@ -0,0 +1,242 @@
+package com.holiday.api.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Expiry;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.holiday.api.config.HolidayCacheProperties;
+import com.holiday.api.domain.HolidayKey;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+
+/**
+ * Bounded in-memory cache of holidays per (year, country), evicting with Caffeine's W-TinyLFU policy.
+ * <p>
+ * Entries are weighed by the number of holidays they hold. Holidays are fresh for the time to live, then kept and
+ * served stale for up to {@code maxStale} longer while they are reloaded in the background. Frequently read entries
+ * ask for a reload during the last {@code refreshAhead} of their time to live, so they are usually reloaded before
+ * turning stale. "Not found" answers are cached with their own, usually much shorter, time to live and are never
+ * served stale.
+ */
+public class HolidayCache {
+
+    /**
+     * How current a cached value is.
+     */
+    public enum Freshness {
+        /**
+         * Within its time to live.
+         */
+        FRESH,
+        /**
+         * Within its time to live, but read often and close to expiring, so worth reloading now.
+         */
+        REFRESH_AHEAD,
+        /**
+         * Past its time to live, but within the maximum staleness.
+         */
+        STALE
+    }
+
+    /**
+     * A cached value and how current it is.
+     *
+     * @param holidays  the cached holidays
+     * @param freshness the freshness
+     */
+    public record Lookup(CachedHolidays holidays, Freshness freshness) {
+
+        /**
+         * Whether the value should be reloaded in the background.
+         *
+         * @return whether a refresh is needed
+         */
+        public boolean needsRefresh() {
+            return freshness != Freshness.FRESH;
+        }
+    }
+
+    private final Cache<HolidayKey, Entry> cache;
+    private final Ticker ticker;
+    private final long ttl;
+    private final long refreshAheadAfter;
+    private final int refreshAheadMinReads;
+    private final LongAdder staleHits = new LongAdder();
+    private final LongAdder refreshAheadHits = new LongAdder();
+    private final List<Consumer<HolidayKey>> changeListeners = new CopyOnWriteArrayList<>();
+
+    /**
+     * Instantiates a new Holiday cache.
+     *
+     * @param properties the holiday cache properties
+     * @param ticker     the time source used for expiry
+     */
+    public HolidayCache(HolidayCacheProperties properties, Ticker ticker) {
+        this.ticker = ticker;
+        this.ttl = properties.getTtl().toNanos();
+        this.refreshAheadAfter = Math.max(0, ttl - properties.getRefreshAhead().toNanos());
+        this.refreshAheadMinReads = properties.getRefreshAheadMinReads();
+        long retention = ttl + properties.getMaxStale().toNanos();
+        long negativeTtl = properties.getNegativeTtl().toNanos();
+        this.cache = Caffeine.newBuilder()
+                .maximumWeight(properties.getMaximumWeight())
+                .weigher((HolidayKey key, Entry entry) -> 1 + entry.holidays.size())
+                .expireAfter(new Expiry<HolidayKey, Entry>() {
+                    @Override
+                    public long expireAfterCreate(HolidayKey key, Entry entry, long currentTime) {
+                        return entry.holidays.isNotFound() ? negativeTtl : retention;
+                    }
+
+                    @Override
+                    public long expireAfterUpdate(HolidayKey key, Entry entry, long currentTime,
+                                                  long currentDuration) {
+                        return expireAfterCreate(key, entry, currentTime);
+                    }
+
+                    @Override
+                    public long expireAfterRead(HolidayKey key, Entry entry, long currentTime,
+                                                long currentDuration) {
+                        return currentDuration;
+                    }
+                })
+                .ticker(ticker)
+                .recordStats()
+                .build();
+    }
+
+    /**
+     * Gets the fresh cached holidays for a key.
+     *
+     * @param key the key
+     * @return the cached holidays, or {@code null} if absent or past their time to live
+     */
+    public CachedHolidays getIfPresent(HolidayKey key) {
+        Entry entry = cache.getIfPresent(key);
+        return entry == null || isStale(entry) ? null : entry.holidays;
+    }
+
+    /**
+     * Gets the fresh cached holidays for a key like {@link #getIfPresent(HolidayKey)}, without counting a hit or a
+     * miss, for reads repeating one already counted.
+     *
+     * @param key the key
+     * @return the cached holidays, or {@code null} if absent or past their time to live
+     */
+    public CachedHolidays peek(HolidayKey key) {
+        Entry entry = cache.policy().getIfPresentQuietly(key);
+        return entry == null || isStale(entry) ? null : entry.holidays;
+    }
+
+    /**
+     * Gets the cached holidays for a key, stale ones included, and counts the read towards refreshing ahead.
+     *
+     * @param key the key
+     * @return the lookup, or {@code null} if absent or past the maximum staleness
+     */
+    public Lookup lookup(HolidayKey key) {
+        Entry entry = cache.getIfPresent(key);
+        if (entry == null) {
+            return null;
+        }
+        entry.reads++;
+        return new Lookup(entry.holidays, freshness(entry));
+    }
+
+    private Freshness freshness(Entry entry) {
+        if (isStale(entry)) {
+            staleHits.increment();
+            return Freshness.STALE;
+        }
+        if (!entry.holidays.isNotFound() && entry.reads >= refreshAheadMinReads
+                && ticker.read() - entry.loadedAt >= refreshAheadAfter) {
+            refreshAheadHits.increment();
+            return Freshness.REFRESH_AHEAD;
+        }
+        return Freshness.FRESH;
+    }
+
+    private boolean isStale(Entry entry) {
+        return !entry.holidays.isNotFound() && ticker.read() - entry.loadedAt >= ttl;
+    }
+
+    /**
+     * Caches holidays for a key, fresh from now.
+     *
+     * @param key   the key
+     * @param value the value
+     */
+    public void put(HolidayKey key, CachedHolidays value) {
+        Entry previous = cache.asMap().put(key, new Entry(value, ticker.read()));
+        if (previous == null || !previous.holidays.equals(value)) {
+            for (Consumer<HolidayKey> listener : changeListeners) {
+                listener.accept(key);
+            }
+        }
+    }
+
+    /**
+     * Registers a listener told about every key whose holidays changed, that is, were cached while no value was, or
+     * replaced a different value. Reloading the same holidays again does not count as a change.
+     *
+     * @param listener the listener, called on the thread putting the holidays
+     */
+    public void addChangeListener(Consumer<HolidayKey> listener) {
+        changeListeners.add(listener);
+    }
+
+    /**
+     * Hit, miss and eviction counters.
+     *
+     * @return the cache stats
+     */
+    public CacheStats stats() {
+        return cache.stats();
+    }
+
+    /**
+     * Approximate number of cached (year, country) entries.
+     *
+     * @return the estimated size
+     */
+    public long estimatedSize() {
+        return cache.estimatedSize();
+    }
+
+    /**
+     * Number of lookups served a stale value.
+     *
+     * @return the stale hit count
+     */
+    public long getStaleHitCount() {
+        return staleHits.sum();
+    }
+
+    /**
+     * Number of lookups of a fresh value that asked for it to be refreshed ahead of expiry.
+     *
+     * @return the refresh ahead hit count
+     */
+    public long getRefreshAheadHitCount() {
+        return refreshAheadHits.sum();
+    }
+
+    /**
+     * A cached value with the time it was loaded and how often it was read since.
+     */
+    private static final class Entry {
+
+        private final CachedHolidays holidays;
+        private final long loadedAt;
+        // Updated without synchronisation, lost increments only delay a refresh ahead
+        private int reads;
+
+        private Entry(CachedHolidays holidays, long loadedAt) {
+            this.holidays = holidays;
+            this.loadedAt = loadedAt;
+        }
+    }
+}
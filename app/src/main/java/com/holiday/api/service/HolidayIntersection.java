@@ -0,0 +1,83 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayYear;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Finds the days that are a holiday in every one of several countries.
+ * <p>
+ * The day-of-year bitmaps of the countries are AND-ed together, stopping as soon as no day is left. Local names are
+ * only looked up for the days that remain.
+ */
+public final class HolidayIntersection {
+
+    private HolidayIntersection() {
+    }
+
+    /**
+     * Finds the common holidays of several countries in one year.
+     *
+     * @param countryCodes the country codes
+     * @param holidayYears the holidays of each country, in the same order as the country codes
+     * @return the common holidays sorted by date, with the local name of each country
+     */
+    public static List<Holiday> commonHolidays(List<String> countryCodes, List<HolidayYear> holidayYears) {
+        List<Holiday> commonHolidays = new ArrayList<>();
+        forEachCommonHoliday(countryCodes, holidayYears, commonHolidays::add);
+        return commonHolidays;
+    }
+
+    /**
+     * Hands the common holidays of several countries in one year to a consumer, one at a time and in date order, so
+     * they can be written out without being collected first.
+     *
+     * @param countryCodes the country codes
+     * @param holidayYears the holidays of each country, in the same order as the country codes
+     * @param consumer     the consumer of each common holiday, with the local name of each country
+     */
+    public static void forEachCommonHoliday(List<String> countryCodes, List<HolidayYear> holidayYears,
+                                            Consumer<Holiday> consumer) {
+        if (holidayYears.isEmpty()) {
+            return;
+        }
+
+        HolidayYear first = holidayYears.get(0);
+        long[] common = new long[HolidayYear.WORDS];
+        for (int w = 0; w < HolidayYear.WORDS; w++) {
+            common[w] = first.word(w);
+        }
+        for (int i = 1; i < holidayYears.size(); i++) {
+            HolidayYear holidays = holidayYears.get(i);
+            long remaining = 0;
+            for (int w = 0; w < HolidayYear.WORDS; w++) {
+                common[w] &= holidays.word(w);
+                remaining |= common[w];
+            }
+            if (remaining == 0) {
+                return;
+            }
+        }
+
+        for (int w = 0; w < HolidayYear.WORDS; w++) {
+            long bits = common[w];
+            while (bits != 0) {
+                int dayOfYear = (w << 6) + Long.numberOfTrailingZeros(bits) + 1;
+                bits &= bits - 1;
+                LocalDate date = LocalDate.ofYearDay(first.year(), dayOfYear);
+
+                Map<String, String> localNames = new LinkedHashMap<>();
+                for (int i = 0; i < holidayYears.size(); i++) {
+                    localNames.put(countryCodes.get(i), holidayYears.get(i).nameOn(date));
+                }
+                consumer.accept(new Holiday(date, localNames));
+            }
+        }
+    }
+}
@@ -0,0 +1,160 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.CountryStatus;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Records where the time of a holiday lookup goes: upstream calls by status, parsing of their responses, and how
+ * many lookups and upstream calls each inbound request fans out to.
+ * <p>
+ * Endpoint latency itself is recorded by Spring as {@code http.server.requests}.
+ */
+@Component
+public class HolidayMetrics {
+
+    /**
+     * Latency of upstream calls, tagged with {@code status}.
+     */
+    public static final String UPSTREAM_REQUESTS = "holiday.upstream.requests";
+
+    /**
+     * Time spent parsing successful upstream responses.
+     */
+    public static final String UPSTREAM_PARSE = "holiday.upstream.parse";
+
+    /**
+     * Size of parsed upstream responses.
+     */
+    public static final String UPSTREAM_PAYLOAD = "holiday.upstream.payload";
+
+    /**
+     * (year, country) lookups per inbound request, tagged with {@code endpoint}.
+     */
+    public static final String FAN_OUT_LOOKUPS = "holiday.fanout.lookups";
+
+    /**
+     * Upstream calls made on behalf of an inbound request, tagged with {@code endpoint}.
+     */
+    public static final String FAN_OUT_UPSTREAM_REQUESTS = "holiday.fanout.upstream.requests";
+
+    /**
+     * (year, country) lookups left out of a response because they timed out or failed, tagged with {@code endpoint}
+     * and {@code status}.
+     */
+    public static final String FAN_OUT_INCOMPLETE = "holiday.fanout.incomplete";
+
+    private final MeterRegistry registry;
+    private final Timer upstreamOk;
+    private final Timer upstreamNotFound;
+    private final Timer upstreamBadRequest;
+    private final Timer upstreamOther;
+    private final Timer upstreamError;
+    private final Timer parse;
+    private final DistributionSummary payload;
+
+    /**
+     * Instantiates new Holiday metrics.
+     *
+     * @param registry the meter registry
+     */
+    public HolidayMetrics(MeterRegistry registry) {
+        this.registry = registry;
+        this.upstreamOk = upstreamTimer("200");
+        this.upstreamNotFound = upstreamTimer("404");
+        this.upstreamBadRequest = upstreamTimer("400");
+        this.upstreamOther = upstreamTimer("other");
+        this.upstreamError = upstreamTimer("error");
+        this.parse = Timer.builder(UPSTREAM_PARSE)
+                .description("Time spent parsing upstream holiday responses")
+                .register(registry);
+        this.payload = DistributionSummary.builder(UPSTREAM_PAYLOAD)
+                .description("Size of parsed upstream holiday responses")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private Timer upstreamTimer(String status) {
+        return Timer.builder(UPSTREAM_REQUESTS)
+                .description("Latency of calls to the upstream holiday API")
+                .tag("status", status)
+                .register(registry);
+    }
+
+    /**
+     * Records an upstream call that received a response.
+     *
+     * @param statusCode    the response status code
+     * @param durationNanos the time from sending the request to receiving the whole response
+     */
+    public void recordUpstreamCall(int statusCode, long durationNanos) {
+        Timer timer = switch (statusCode) {
+            case 200 -> upstreamOk;
+            case 404 -> upstreamNotFound;
+            case 400 -> upstreamBadRequest;
+            default -> upstreamOther;
+        };
+        timer.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records an upstream call that failed without a response, such as a timeout or a refused connection.
+     *
+     * @param durationNanos the time until the call failed
+     */
+    public void recordUpstreamFailure(long durationNanos) {
+        upstreamError.record(durationNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records the parsing of an upstream response.
+     *
+     * @param payloadBytes  the size of the response body
+     * @param durationNanos the time spent parsing
+     */
+    public void recordParse(int payloadBytes, long durationNanos) {
+        parse.record(durationNanos, TimeUnit.NANOSECONDS);
+        payload.record(payloadBytes);
+    }
+
+    /**
+     * Records the fan-out of an inbound request.
+     *
+     * @param endpoint         the endpoint, such as {@code count}
+     * @param lookups          the (year, country) lookups started
+     * @param upstreamRequests the upstream calls made by those lookups, the others being served from the cache,
+     *                         the store or a call already in flight
+     */
+    public void recordFanOut(String endpoint, int lookups, long upstreamRequests) {
+        DistributionSummary.builder(FAN_OUT_LOOKUPS)
+                .description("Holiday lookups per inbound request")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(lookups);
+        DistributionSummary.builder(FAN_OUT_UPSTREAM_REQUESTS)
+                .description("Upstream calls per inbound request")
+                .tag("endpoint", endpoint)
+                .register(registry)
+                .record(upstreamRequests);
+    }
+
+    /**
+     * Records a (year, country) lookup left out of a partial response.
+     *
+     * @param endpoint the endpoint, such as {@code count}
+     * @param status   why the lookup was left out
+     */
+    public void recordIncompleteLookup(String endpoint, CountryStatus status) {
+        Counter.builder(FAN_OUT_INCOMPLETE)
+                .description("Holiday lookups left out of partial responses")
+                .tag("endpoint", endpoint)
+                .tag("status", status.name())
+                .register(registry)
+                .increment();
+    }
+}
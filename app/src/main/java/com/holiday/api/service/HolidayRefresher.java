@@ -0,0 +1,101 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.HolidayKey;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Reloads cached holidays in the background, so reads of stale or soon to expire entries are not held up by
+ * upstream.
+ * <p>
+ * A key is reloaded at most once at a time. Concurrency is bounded by the executor: when it has no free thread the
+ * reload is skipped rather than queued, and the next read of the entry asks for it again.
+ */
+@Slf4j
+public class HolidayRefresher {
+
+    private final Executor executor;
+    private final Set<HolidayKey> inFlight = ConcurrentHashMap.newKeySet();
+    private final LongAdder succeeded = new LongAdder();
+    private final LongAdder failed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+
+    /**
+     * Instantiates a new Holiday refresher.
+     *
+     * @param executor the executor running reloads, rejecting them when busy
+     */
+    public HolidayRefresher(Executor executor) {
+        this.executor = executor;
+    }
+
+    /**
+     * Starts reloading a key unless it is already being reloaded or no reload can start right now.
+     *
+     * @param key    the key
+     * @param reload the reload, which caches its result
+     */
+    public void refresh(HolidayKey key, Runnable reload) {
+        if (!inFlight.add(key)) {
+            return;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    reload.run();
+                    succeeded.increment();
+                } catch (RuntimeException e) {
+                    failed.increment();
+                    log.debug("Refresh failed for year: {} and country: {}: {}", key.year(), key.countryCode(), e.getMessage());
+                } finally {
+                    inFlight.remove(key);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(key);
+            skipped.increment();
+            log.debug("Refresh skipped for year: {} and country: {}, all refresh threads are busy", key.year(), key.countryCode());
+        }
+    }
+
+    /**
+     * Number of reloads that completed.
+     *
+     * @return the succeeded count
+     */
+    public long getSucceededCount() {
+        return succeeded.sum();
+    }
+
+    /**
+     * Number of reloads that failed, the entry being served stale until it expires or a later reload succeeds.
+     *
+     * @return the failed count
+     */
+    public long getFailedCount() {
+        return failed.sum();
+    }
+
+    /**
+     * Number of reloads skipped because every refresh thread was busy.
+     *
+     * @return the skipped count
+     */
+    public long getSkippedCount() {
+        return skipped.sum();
+    }
+
+    /**
+     * Number of reloads currently running.
+     *
+     * @return the in flight count
+     */
+    public int getInFlightCount() {
+        return inFlight.size();
+    }
+}
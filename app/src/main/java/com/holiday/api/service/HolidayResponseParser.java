@@ -0,0 +1,82 @@
+package com.holiday.api.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayYear;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.time.LocalDate;
+
+/**
+ * Parses upstream holiday responses with Jackson's streaming parser.
+ * <p>
+ * Only the fields {@link Holiday} keeps ({@code date} and {@code localName}) are read; every other field,
+ * including nested arrays such as {@code counties} and {@code types}, is skipped without being materialised.
+ * Holidays go straight into a {@link HolidayYear}, no {@link Holiday} object is created.
+ */
+@Component
+@Slf4j
+public class HolidayResponseParser {
+
+    private final JsonFactory jsonFactory;
+
+    /**
+     * Instantiates a new Holiday response parser.
+     *
+     * @param objectMapper the application object mapper, whose factory is shared
+     */
+    public HolidayResponseParser(ObjectMapper objectMapper) {
+        this.jsonFactory = objectMapper.getFactory();
+    }
+
+    /**
+     * Parses the raw API response into the holidays of a year.
+     *
+     * @param year the year requested
+     * @param body the response body
+     * @return the holidays
+     */
+    public HolidayYear parse(int year, byte[] body) {
+        try (JsonParser parser = jsonFactory.createParser(body)) {
+            return readHolidays(year, parser);
+        } catch (IOException | RuntimeException e) {
+            log.error("Error parsing API response: {}", e.getMessage());
+            throw new RuntimeException("Error parsing API response: " + e.getMessage(), e);
+        }
+    }
+
+    private HolidayYear readHolidays(int year, JsonParser parser) throws IOException {
+        if (parser.nextToken() != JsonToken.START_ARRAY) {
+            throw new IOException("Expected a JSON array of holidays but found " + parser.currentToken());
+        }
+
+        HolidayYear.Builder holidays = HolidayYear.builder(year);
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            readHoliday(parser, holidays);
+        }
+        return holidays.build();
+    }
+
+    private void readHoliday(JsonParser parser, HolidayYear.Builder holidays) throws IOException {
+        LocalDate date = null;
+        String localName = null;
+
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken value = parser.nextToken();
+            switch (field) {
+                case "date" -> date = value == JsonToken.VALUE_NULL ? null : LocalDate.parse(parser.getText());
+                case "localName" -> localName = value == JsonToken.VALUE_NULL ? null : parser.getText();
+                default -> parser.skipChildren();
+            }
+        }
+        if (date != null) {
+            holidays.add(date.toEpochDay(), localName);
+        }
+    }
+}
@@ -1,32 +1,52 @@
 package com.holiday.api.service;
 
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.ObjectMapper;
-import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.holiday.api.config.UpstreamClientProperties;
 import com.holiday.api.constants.HolidayConstants;
+import com.holiday.api.domain.BusinessDays;
+import com.holiday.api.domain.CountryStatus;
+import com.holiday.api.domain.FanOutResult;
 import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayCount;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.exception.UpstreamTimeoutException;
+import com.holiday.api.exception.UpstreamUnavailableException;
+import com.holiday.api.request.BusinessDayRequest;
 import com.holiday.api.request.CountryRequest;
+import com.holiday.api.request.HolidayCheckRequest;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.http.HttpStatus;
 import org.springframework.stereotype.Service;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.io.IOException;
 import java.net.URI;
 import java.net.http.HttpClient;
 import java.net.http.HttpRequest;
 import java.net.http.HttpResponse;
-import java.time.DayOfWeek;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.Comparator;
-import java.util.HashMap;
 import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.PriorityQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
+import java.util.function.Function;
 import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 /**
  * The type Holiday service.
@@ -35,64 +55,174 @@ import java.util.stream.Collectors;
 @Slf4j
 public class HolidayService {
 
+    /**
+     * Counts the upstream calls of the inbound request a lookup on the current thread belongs to, if any.
+     */
+    private static final ThreadLocal<LongAdder> UPSTREAM_CALLS = new ThreadLocal<>();
+
+    /**
+     * The deadline of the inbound request a lookup on the current thread belongs to, if any.
+     */
+    private static final ThreadLocal<Deadline> DEADLINE = new ThreadLocal<>();
+
+    private static final long INITIAL_VERSION = 1;
+
+    /**
+     * Fewest business days a year is assumed to have when working out how many years adding business days spans,
+     * well below the 260 or so weekdays of a year to leave room for the holidays of many countries.
+     */
+    private static final int MIN_BUSINESS_DAYS_PER_YEAR = 100;
+
     @Value("${holiday.api.url}")
     private String apiUrl;
 
+    @Autowired
+    private HttpClient httpClient;
+
+    @Autowired
+    private UpstreamClientProperties upstreamClientProperties;
+
+    @Autowired
+    private UpstreamClientMetrics upstreamClientMetrics;
+
+    @Autowired
+    private HolidayMetrics holidayMetrics;
+
+    @Autowired
+    private UpstreamCallPolicy upstreamCallPolicy;
+
+    @Autowired
+    private HolidayCache holidayCache;
+
+    @Autowired
+    private HolidayStore holidayStore;
+
+    @Autowired
+    private HolidayRefresher holidayRefresher;
+
+    @Autowired
+    private SingleFlight<HolidayKey, CachedHolidays> upstreamFetches;
+
+    @Autowired
+    private HolidayResponseParser holidayResponseParser;
+
+    @Autowired
+    @Qualifier("upstreamExecutor")
+    private Executor upstreamExecutor;
+
     /**
      * Gets last 3 holidays.
+     * <p>
+     * The current and previous year are fetched together, since early in the year the previous one is usually
+     * needed too. Older years are fetched one ahead of the year being examined, and the search stops at the
+     * first year after which enough past holidays are known, as every earlier year only holds older ones.
      *
      * @param country the country
      * @return the last 3 holidays
      */
     public List<Holiday> getPastHolidays(String country) {
         log.info("Fetching last 3 past holidays for country: {}", country);
-        List<Holiday> pastHolidays = new ArrayList<>();
-        int currentYear = LocalDate.now().getYear();
+        int limit = HolidayConstants.PREVIOUS_HOLIDAYS_COUNT;
         LocalDate today = LocalDate.now();
-        int yearToCheck = currentYear;
+        int currentYear = today.getYear();
+        int oldestYear = currentYear - HolidayConstants.PAST_HOLIDAYS_MAX_YEARS_BACK;
+        long todayEpochDay = today.toEpochDay();
 
-        // Fetch holidays from current and previous years until we get at least 3 past holidays
-        while (pastHolidays.size() < HolidayConstants.PREVIOUS_HOLIDAYS_COUNT) {
-            List<Holiday> holidays = fetchHolidays(yearToCheck, country)
-                    .stream()
-                    .filter(holiday -> holiday.getDate().isBefore(today))
-                    .sorted(Comparator.comparing(Holiday::getDate).reversed())
-                    .collect(Collectors.toList());
+        // Min-heap of the most recent past holidays seen so far, its head being the oldest one kept
+        PriorityQueue<Holiday> mostRecent = new PriorityQueue<>(limit + 1, Comparator.comparing(Holiday::getDate));
 
-            pastHolidays.addAll(holidays);
+        LongAdder upstreamCalls = new LongAdder();
+        int lookups = 2;
+        CompletableFuture<HolidayYear> pending = fetchHolidayYearAsync(currentYear, country, upstreamCalls, Deadline.none());
+        CompletableFuture<HolidayYear> prefetched = fetchHolidayYearAsync(currentYear - 1, country, upstreamCalls, Deadline.none());
 
-            yearToCheck--;
+        try {
+            for (int year = currentYear; year >= oldestYear; year--) {
+                HolidayYear holidays = join(pending);
+                // Newest first, so only holidays that make it into the heap are materialised
+                for (int i = holidays.size() - 1; i >= 0; i--) {
+                    int epochDay = holidays.epochDayAt(i);
+                    if (epochDay >= todayEpochDay) {
+                        continue;
+                    }
+                    if (mostRecent.size() >= limit && epochDay <= mostRecent.peek().getDate().toEpochDay()) {
+                        break;
+                    }
+                    mostRecent.offer(holidays.holidayAt(i));
+                    if (mostRecent.size() > limit) {
+                        mostRecent.poll();
+                    }
+                }
+                if (mostRecent.size() >= limit || year == oldestYear) {
+                    break;
+                }
 
-            if (yearToCheck < currentYear - 100) break;
+                pending = prefetched;
+                prefetched = null;
+                if (year - 2 >= oldestYear) {
+                    prefetched = fetchHolidayYearAsync(year - 2, country, upstreamCalls, Deadline.none());
+                    lookups++;
+                }
+            }
+        } finally {
+            // A prefetch still in flight is counted as a lookup, its upstream call only if it already happened
+            holidayMetrics.recordFanOut("past", lookups, upstreamCalls.sum());
         }
 
-         List<Holiday> pastHolidayList = pastHolidays.stream().limit(HolidayConstants.PREVIOUS_HOLIDAYS_COUNT).collect(Collectors.toList());
-         log.info("Found {} past holidays for country: {}", pastHolidayList.size(), country);
-         return pastHolidayList;
+        List<Holiday> pastHolidayList = new ArrayList<>(mostRecent);
+        pastHolidayList.sort(Comparator.comparing(Holiday::getDate).reversed());
+        log.info("Found {} past holidays for country: {}", pastHolidayList.size(), country);
+        return pastHolidayList;
     }
 
     /**
-     * Gets holidays count.
+     * Gets holidays count, fetching all countries concurrently.
      *
      * @param countryRequest the country request
-     * @return the holidays count
+     * @param deadline       the deadline of the request
+     * @return the holidays count of the countries fetched by the deadline, completed once every country has been
+     * fetched, has failed or has run out of time
      */
-    public Map<String, Long> getHolidaysCount(CountryRequest countryRequest) {
+    public CompletableFuture<FanOutResult<Map<String, Long>>> getHolidaysCount(CountryRequest countryRequest, Deadline deadline) {
         int year = countryRequest.getYear();
         List<String> countryCodes = countryRequest.getCountryCodes();
 
         log.info("Fetching holiday count for year: {} and countries: {}", year, countryCodes);
 
-        return countryCodes.parallelStream()
-                .collect(Collectors.toMap(
-                        country -> country,
-                        country -> fetchHolidays(year, country).stream()
-                                .filter(h -> !isWeekend(h.getDate()))
-                                .count(),
-                        (e1, e2) -> e1,
-                        LinkedHashMap::new
-                ))
-                .entrySet().stream()
+        return fanOut("count", List.of(year), countryCodes, deadline,
+                fetched -> sortedCounts(fetched.getOrDefault(year, Map.of())));
+    }
+
+    /**
+     * Gets holidays count for every year of a range, fetching the whole (year, country) matrix concurrently on the
+     * bounded fan-out executor.
+     *
+     * @param countryRequest the country request, for a range of years
+     * @param deadline       the deadline of the request
+     * @return the holidays count of each year, in ascending year order, of the (year, country) pairs fetched by the
+     * deadline
+     */
+    public CompletableFuture<FanOutResult<Map<Integer, Map<String, Long>>>> getHolidaysCountByYear(CountryRequest countryRequest, Deadline deadline) {
+        List<Integer> years = countryRequest.years();
+        List<String> countryCodes = countryRequest.getCountryCodes();
+
+        log.info("Fetching holiday count for years: {} and countries: {}", years, countryCodes);
+
+        return fanOut("count", years, countryCodes, deadline, fetched -> {
+            Map<Integer, Map<String, Long>> countByYear = new LinkedHashMap<>();
+            for (int year : years) {
+                countByYear.put(year, sortedCounts(fetched.getOrDefault(year, Map.of())));
+            }
+            return countByYear;
+        });
+    }
+
+    /**
+     * Counts the weekday holidays of each country, highest first.
+     */
+    private static Map<String, Long> sortedCounts(Map<String, HolidayYear> holidaysByCountry) {
+        return holidaysByCountry.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().countWeekdayHolidays()))
                 .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
                 .collect(Collectors.toMap(
                         Map.Entry::getKey,
@@ -104,42 +234,476 @@ public class HolidayService {
 
 
     /**
-     * Gets common holidays.
+     * Gets common holidays, fetching all countries concurrently.
      *
      * @param countryRequest the country request
-     * @return the common holidays
+     * @param deadline       the deadline of the request
+     * @return the common holidays, completed once every country has been fetched, has failed or has run out of time;
+     * empty if a country was not fetched by the deadline, as leaving it out could only add holidays
      */
-    public List<Holiday> getCommonHolidays(CountryRequest countryRequest) {
+    public CompletableFuture<FanOutResult<List<Holiday>>> getCommonHolidays(CountryRequest countryRequest, Deadline deadline) {
         int year = countryRequest.getYear();
         List<String> countryCodes = countryRequest.getCountryCodes();
 
         log.info("Fetching common holidays for year: {} and countries: {}", year, countryCodes);
 
-        Map<LocalDate, Map<String, String>> holidayMap = new HashMap<>();
+        return fanOut("common", List.of(year), countryCodes, deadline, fetched -> {
+            List<Holiday> commonHolidays = commonHolidays(fetched.getOrDefault(year, Map.of()), countryCodes);
+
+            log.info("Found {} common holidays for the given countries.", commonHolidays.size());
+            return commonHolidays;
+        });
+    }
+
+    /**
+     * Gets common holidays for every year of a range, fetching the whole (year, country) matrix concurrently on the
+     * bounded fan-out executor.
+     *
+     * @param countryRequest the country request, for a range of years
+     * @param deadline       the deadline of the request
+     * @return the common holidays of each year, in ascending year order; empty for a year in which a country was not
+     * fetched by the deadline
+     */
+    public CompletableFuture<FanOutResult<Map<Integer, List<Holiday>>>> getCommonHolidaysByYear(CountryRequest countryRequest, Deadline deadline) {
+        List<Integer> years = countryRequest.years();
+        List<String> countryCodes = countryRequest.getCountryCodes();
+
+        log.info("Fetching common holidays for years: {} and countries: {}", years, countryCodes);
+
+        return fanOut("common", years, countryCodes, deadline, fetched -> {
+            Map<Integer, List<Holiday>> commonHolidaysByYear = new LinkedHashMap<>();
+            for (int year : years) {
+                commonHolidaysByYear.put(year, commonHolidays(fetched.getOrDefault(year, Map.of()), countryCodes));
+            }
+            return commonHolidaysByYear;
+        });
+    }
+
+    /**
+     * Gets the holidays of each country, fetching all countries concurrently.
+     *
+     * @param countryRequest the country request
+     * @param deadline       the deadline of the request
+     * @return the holidays of each country fetched by the deadline, in alphabetical country-code order, completed once
+     * every country has been fetched, has failed or has run out of time
+     */
+    public CompletableFuture<FanOutResult<Map<String, List<Holiday>>>> getHolidays(CountryRequest countryRequest, Deadline deadline) {
+        int year = countryRequest.getYear();
+        List<String> countryCodes = countryRequest.getCountryCodes();
+
+        log.info("Fetching holidays for year: {} and countries: {}", year, countryCodes);
+
+        return fanOut("bulk", List.of(year), countryCodes, deadline,
+                fetched -> holidaysByCountry(fetched.getOrDefault(year, Map.of())));
+    }
+
+    /**
+     * Gets the holidays of each country for every year of a range, fetching the whole (year, country) matrix
+     * concurrently on the bounded fan-out executor.
+     *
+     * @param countryRequest the country request, for a range of years
+     * @param deadline       the deadline of the request
+     * @return the holidays of each country by year, in ascending year order and then alphabetical country-code order,
+     * of the (year, country) pairs fetched by the deadline
+     */
+    public CompletableFuture<FanOutResult<Map<Integer, Map<String, List<Holiday>>>>> getHolidaysByYear(CountryRequest countryRequest, Deadline deadline) {
+        List<Integer> years = countryRequest.years();
+        List<String> countryCodes = countryRequest.getCountryCodes();
+
+        log.info("Fetching holidays for years: {} and countries: {}", years, countryCodes);
+
+        return fanOut("bulk", years, countryCodes, deadline, fetched -> {
+            Map<Integer, Map<String, List<Holiday>>> holidaysByYear = new LinkedHashMap<>();
+            for (int year : years) {
+                holidaysByYear.put(year, holidaysByCountry(fetched.getOrDefault(year, Map.of())));
+            }
+            return holidaysByYear;
+        });
+    }
+
+    /**
+     * Checks whether each date is a holiday in each country, fetching the (year, country) pairs the dates fall in
+     * concurrently. Each check is a bit test of the day-of-year bitmap of the country's holidays in that year.
+     *
+     * @param checkRequest the holiday check request
+     * @param deadline     the deadline of the request
+     * @return for each date, in request order, whether it is a holiday in each country fetched by the deadline
+     */
+    public CompletableFuture<FanOutResult<Map<LocalDate, Map<String, Boolean>>>> checkHolidays(HolidayCheckRequest checkRequest, Deadline deadline) {
+        List<LocalDate> dates = checkRequest.getDates();
+        List<Integer> years = checkRequest.years();
+        List<String> countryCodes = checkRequest.getCountryCodes();
+
+        log.info("Checking {} dates in years: {} for countries: {}", dates.size(), years, countryCodes);
+
+        return fanOut("check", years, countryCodes, deadline, fetched -> {
+            Map<LocalDate, Map<String, Boolean>> holidayByDate = new LinkedHashMap<>();
+            for (LocalDate date : dates) {
+                int dayOfYear = date.getDayOfYear();
+                Map<String, Boolean> holidayByCountry = new LinkedHashMap<>();
+                fetched.getOrDefault(date.getYear(), Map.of())
+                        .forEach((countryCode, holidays) -> holidayByCountry.put(countryCode, holidays.isHolidayOnDayOfYear(dayOfYear)));
+                holidayByDate.put(date, holidayByCountry);
+            }
+            return holidayByDate;
+        });
+    }
+
+    /**
+     * Counts the business days from one date to another, in the union of the holidays of several countries, fetching
+     * every (year, country) pair between the dates concurrently.
+     *
+     * @param businessDayRequest the business day request, with a from and a to date
+     * @param deadline           the deadline of the request
+     * @return the business days after the from date up to and including the to date, negative if the to date is
+     * before the from date; failed if a country was not fetched, as the count would be wrong without it
+     */
+    public CompletableFuture<FanOutResult<BusinessDays>> countBusinessDays(BusinessDayRequest businessDayRequest, Deadline deadline) {
+        LocalDate fromDate = businessDayRequest.getFromDate();
+        LocalDate toDate = businessDayRequest.getToDate();
+        List<String> countryCodes = businessDayRequest.getCountryCodes();
+
+        log.info("Counting business days from: {} to: {} for countries: {}", fromDate, toDate, countryCodes);
+
+        int firstYear = Math.min(fromDate.getYear(), toDate.getYear());
+        int lastYear = Math.max(fromDate.getYear(), toDate.getYear());
+        return businessCalendar(firstYear, lastYear, countryCodes, deadline).thenApply(result -> new FanOutResult<>(
+                new BusinessDays(fromDate, toDate, result.getResults().countBusinessDays(fromDate, toDate)),
+                result.getCountryStatus(), result.getVersion()));
+    }
+
+    /**
+     * Moves a date by a number of business days, in the union of the holidays of several countries.
+     * <p>
+     * The years the result can fall in are worked out from {@link #MIN_BUSINESS_DAYS_PER_YEAR}, up to
+     * {@link HolidayConstants#MAX_YEARS_PER_REQUEST}, and fetched concurrently in a single fan-out.
+     *
+     * @param businessDayRequest the business day request, with a from date and a number of days
+     * @param deadline           the deadline of the request
+     * @return the date that many business days after the from date, or before it for a negative number; failed if a
+     * country was not fetched, as the date would be wrong without it
+     */
+    public CompletableFuture<FanOutResult<BusinessDays>> addBusinessDays(BusinessDayRequest businessDayRequest, Deadline deadline) {
+        LocalDate fromDate = businessDayRequest.getFromDate();
+        long days = businessDayRequest.getDays();
+        List<String> countryCodes = businessDayRequest.getCountryCodes();
+
+        log.info("Adding {} business days to: {} for countries: {}", days, fromDate, countryCodes);
+
+        // The year of the from date may hold none of the business days, so one year more than the days fill
+        int span = (int) Math.min(Math.abs(days) / MIN_BUSINESS_DAYS_PER_YEAR + 2, HolidayConstants.MAX_YEARS_PER_REQUEST);
+        int firstYear = days >= 0 ? fromDate.getYear() : fromDate.getYear() - span + 1;
+        int lastYear = days >= 0 ? fromDate.getYear() + span - 1 : fromDate.getYear();
+        return businessCalendar(firstYear, lastYear, countryCodes, deadline).thenApply(result -> {
+            LocalDate toDate = result.getResults().addBusinessDays(fromDate, days);
+            if (toDate == null) {
+                throw new IllegalArgumentException(days + " business days from " + fromDate + " span more than "
+                        + span + " years.");
+            }
+            return new FanOutResult<>(new BusinessDays(fromDate, toDate, days), result.getCountryStatus(), result.getVersion());
+        });
+    }
+
+    /**
+     * Fetches the holidays of several countries in consecutive years and builds their business calendar.
+     * <p>
+     * Unlike the other multi-country results, business days computed without the holidays of one of the countries
+     * would be wrong rather than partial, so a country that was not fetched fails the request.
+     */
+    private CompletableFuture<FanOutResult<BusinessCalendar>> businessCalendar(int firstYear, int lastYear, List<String> countryCodes,
+                                                                              Deadline deadline) {
+        List<Integer> years = IntStream.rangeClosed(firstYear, lastYear).boxed().toList();
+        return fanOut("business-days", years, countryCodes, deadline, fetched -> BusinessCalendar.of(firstYear, lastYear, fetched))
+                .thenApply(result -> {
+                    result.getCountryStatus().forEach((countryCode, status) -> {
+                        if (status == CountryStatus.TIMED_OUT) {
+                            throw new UpstreamTimeoutException("Request deadline passed before holidays for " + countryCode
+                                    + " were fetched to compute business days");
+                        }
+                        if (status == CountryStatus.FAILED) {
+                            throw new UpstreamUnavailableException("Holidays for " + countryCode
+                                    + " could not be fetched to compute business days");
+                        }
+                    });
+                    return result;
+                });
+    }
+
+    private static Map<String, List<Holiday>> holidaysByCountry(Map<String, HolidayYear> holidaysByCountry) {
+        Map<String, List<Holiday>> holidays = new LinkedHashMap<>();
+        holidaysByCountry.forEach((countryCode, holidayYear) -> holidays.put(countryCode, holidayYear.toHolidays()));
+        return holidays;
+    }
+
+    /**
+     * Intersects the holidays of the countries of a year. Leaving out a country that was not fetched would make the
+     * intersection wrong rather than partial, as it could only gain holidays, so no holiday is common then.
+     */
+    private static List<Holiday> commonHolidays(Map<String, HolidayYear> holidaysByCountry, List<String> countryCodes) {
+        if (!holidaysByCountry.keySet().containsAll(countryCodes)) {
+            return List.of();
+        }
+        return HolidayIntersection.commonHolidays(new ArrayList<>(holidaysByCountry.keySet()), new ArrayList<>(holidaysByCountry.values()));
+    }
+
+    /**
+     * Fetches every (year, country) pair of a request concurrently, and combines the holidays of the pairs fetched by
+     * the deadline, by year and then by country in alphabetical country-code order, the order of normalized requests.
+     * <p>
+     * A pair that times out or fails leaves its country out of that year's results, and is reported in the country's
+     * status instead of failing the request, so the work already done is kept. The request still fails when upstream
+     * rejects a country, as a retry would not help, or when no pair could be fetched at all.
+     */
+    private <T> CompletableFuture<FanOutResult<T>> fanOut(String endpoint, List<Integer> years, List<String> countryCodes,
+                                                          Deadline deadline, Function<Map<Integer, Map<String, HolidayYear>>, T> combiner) {
+        List<String> distinctCodes = countryCodes.stream().distinct().toList();
+        LongAdder upstreamCalls = new LongAdder();
+        Map<HolidayKey, CompletableFuture<HolidayYear>> fetches = new LinkedHashMap<>();
+        for (int year : years) {
+            for (String countryCode : distinctCodes) {
+                HolidayKey key = new HolidayKey(year, countryCode);
+                fetches.put(key, submitFetch(key, upstreamCalls, deadline));
+            }
+        }
+
+        // Wait for every pair to settle or for the deadline, so one that fails or is slow does not hold up the others
+        CompletableFuture<Void> settled = CompletableFuture.allOf(fetches.values().stream()
+                .map(fetch -> fetch.handle((holidays, error) -> null))
+                .toArray(CompletableFuture[]::new));
+        return deadline.bound(settled)
+                .handle((ignored, timeout) -> {
+                    holidayMetrics.recordFanOut(endpoint, fetches.size(), upstreamCalls.sum());
+                    Map<Integer, Map<String, HolidayYear>> fetched = new LinkedHashMap<>();
+                    Map<String, CountryStatus> countryStatus = new LinkedHashMap<>();
+                    distinctCodes.forEach(countryCode -> countryStatus.put(countryCode, CountryStatus.OK));
+                    RuntimeException firstFailure = null;
+                    long version = INITIAL_VERSION;
+
+                    for (Map.Entry<HolidayKey, CompletableFuture<HolidayYear>> entry : fetches.entrySet()) {
+                        HolidayKey key = entry.getKey();
+                        CompletableFuture<HolidayYear> fetch = entry.getValue();
+                        if (fetch.isDone() && !fetch.isCompletedExceptionally()) {
+                            HolidayYear holidays = fetch.join();
+                            fetched.computeIfAbsent(key.year(), year -> new LinkedHashMap<>()).put(key.countryCode(), holidays);
+                            version = combineVersion(version, holidays);
+                            continue;
+                        }
+
+                        RuntimeException failure = failureOf(key, fetch);
+                        if (failure instanceof HttpClientErrorException) {
+                            throw failure;
+                        }
+                        CountryStatus status = failure instanceof UpstreamTimeoutException ? CountryStatus.TIMED_OUT : CountryStatus.FAILED;
+                        log.warn("Leaving out holidays for year: {} and country: {}, {}: {}", key.year(), key.countryCode(), status, failure.getMessage());
+                        holidayMetrics.recordIncompleteLookup(endpoint, status);
+                        countryStatus.merge(key.countryCode(), status, CountryStatus::worse);
+                        if (firstFailure == null) {
+                            firstFailure = failure;
+                        }
+                    }
+
+                    if (fetched.isEmpty() && firstFailure != null) {
+                        throw firstFailure;
+                    }
+                    return new FanOutResult<>(combiner.apply(fetched), countryStatus, version);
+                });
+    }
+
+    /**
+     * Submits the fetch of a pair unless the request deadline has passed. A pair that is not submitted, or that the
+     * executor rejects, fails without failing the request, so it is reported in its country's status like any other.
+     */
+    private CompletableFuture<HolidayYear> submitFetch(HolidayKey key, LongAdder upstreamCalls, Deadline deadline) {
+        if (deadline.isExpired()) {
+            return CompletableFuture.failedFuture(new UpstreamTimeoutException("Request deadline passed before holidays for "
+                    + key.countryCode() + " in year " + key.year() + " were requested"));
+        }
+        try {
+            return fetchHolidayYearAsync(key.year(), key.countryCode(), upstreamCalls, deadline);
+        } catch (RejectedExecutionException e) {
+            return CompletableFuture.failedFuture(new UpstreamUnavailableException("Too many lookups in flight to fetch holidays for "
+                    + key.countryCode() + " in year " + key.year(), e));
+        }
+    }
+
+    /**
+     * Gets the exception a fetch failed with, or an {@link UpstreamTimeoutException} if it was still pending when the
+     * request deadline passed.
+     */
+    private static RuntimeException failureOf(HolidayKey key, CompletableFuture<HolidayYear> fetch) {
+        if (!fetch.isDone()) {
+            return new UpstreamTimeoutException("Request deadline passed before holidays for " + key.countryCode()
+                    + " in year " + key.year() + " were fetched");
+        }
+        Throwable error = fetch.handle((holidays, e) -> e).join();
+        if (error instanceof CompletionException && error.getCause() != null) {
+            error = error.getCause();
+        }
+        return error instanceof RuntimeException runtimeException ? runtimeException : new CompletionException(error);
+    }
+
+    /**
+     * Streams the holidays count of each country in each year of the request, fetching all (year, country) pairs
+     * concurrently and handing each count to the consumer on the calling thread as soon as its pair has been
+     * fetched, so the fastest ones are written first. A pair that fails ends the stream with its exception.
+     *
+     * @param countryRequest the country request
+     * @param consumer       the consumer of each count, in the order the pairs complete
+     */
+    public void streamHolidaysCount(CountryRequest countryRequest, Consumer<HolidayCount> consumer) {
+        List<Integer> years = countryRequest.years();
+        List<String> countryCodes = countryRequest.getCountryCodes().stream().distinct().toList();
+
+        log.info("Streaming holiday count for years: {} and countries: {}", years, countryCodes);
+
+        LongAdder upstreamCalls = new LongAdder();
+        BlockingQueue<CompletableFuture<HolidayCount>> completed = new LinkedBlockingQueue<>();
+        for (int year : years) {
+            for (String country : countryCodes) {
+                CompletableFuture<HolidayCount> count = fetchHolidayYearAsync(year, country, upstreamCalls, Deadline.none())
+                        .thenApply(holidays -> new HolidayCount(year, country, holidays.countWeekdayHolidays()));
+                count.whenComplete((ignored, error) -> completed.add(count));
+            }
+        }
 
-        // Fetch and process holidays for each country
-        for (String countryCode : countryCodes) {
-            List<Holiday> holidays = Optional.ofNullable(fetchHolidays(year, countryCode))
-                    .orElse(Collections.emptyList());
+        int lookups = years.size() * countryCodes.size();
+        try {
+            for (int i = 0; i < lookups; i++) {
+                consumer.accept(join(completed.take()));
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while streaming holiday count", e);
+        } finally {
+            holidayMetrics.recordFanOut("count", lookups, upstreamCalls.sum());
+        }
+    }
 
-            for (Holiday holiday : holidays) {
-                holidayMap
-                        .computeIfAbsent(holiday.getDate(), k -> new HashMap<>())
-                        .put(countryCode, holiday.getLocalName());
+    /**
+     * Streams common holidays in date order, fetching all (year, country) pairs concurrently. The intersection of a
+     * year needs every country, so the holidays of a year are handed to the consumer once its countries have been
+     * fetched, one at a time and without being collected first.
+     *
+     * @param countryRequest the country request
+     * @param consumer       the consumer of each common holiday
+     */
+    public void streamCommonHolidays(CountryRequest countryRequest, Consumer<Holiday> consumer) {
+        List<Integer> years = countryRequest.years();
+        List<String> countryCodes = countryRequest.getCountryCodes();
+
+        log.info("Streaming common holidays for years: {} and countries: {}", years, countryCodes);
+
+        LongAdder upstreamCalls = new LongAdder();
+        List<List<CompletableFuture<HolidayYear>>> fetchesByYear = years.stream()
+                .map(year -> countryCodes.stream()
+                        .map(countryCode -> fetchHolidayYearAsync(year, countryCode, upstreamCalls, Deadline.none()))
+                        .toList())
+                .toList();
+
+        try {
+            for (List<CompletableFuture<HolidayYear>> fetches : fetchesByYear) {
+                List<HolidayYear> holidayYears = join(CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new))
+                        .thenApply(ignored -> fetches.stream()
+                                .map(CompletableFuture::join)
+                                .toList()));
+                HolidayIntersection.forEachCommonHoliday(countryCodes, holidayYears, consumer);
             }
+        } finally {
+            holidayMetrics.recordFanOut("common", years.size() * countryCodes.size(), upstreamCalls.sum());
         }
+    }
+
+    /**
+     * Gets the version of the holidays the past holidays of a country are found in, which changes whenever they
+     * do. It covers the current and the previous year, which hold the past holidays unless a country has fewer
+     * than three a year; older years only change when upstream corrects them.
+     *
+     * @param country the country
+     * @return the version
+     */
+    public long getPastHolidaysVersion(String country) {
+        int currentYear = LocalDate.now().getYear();
+        return join(getHolidaysVersion(List.of(
+                fetchHolidayYearAsync(currentYear, country),
+                fetchHolidayYearAsync(currentYear - 1, country))));
+    }
+
+    /**
+     * Gets the version of the holidays of some countries in a year, fetching all countries concurrently. It changes
+     * whenever the holidays of any of the countries do.
+     *
+     * @param year         the year
+     * @param countryCodes the country codes
+     * @return the version, completed once every country has been fetched
+     */
+    public CompletableFuture<Long> getHolidaysVersion(int year, List<String> countryCodes) {
+        return getHolidaysVersion(countryCodes.stream()
+                .map(countryCode -> fetchHolidayYearAsync(year, countryCode))
+                .toList());
+    }
+
+    /**
+     * Gets the version of the holidays of some countries in several years, fetching all (year, country) pairs
+     * concurrently. It changes whenever the holidays of any of the pairs do.
+     *
+     * @param years        the years
+     * @param countryCodes the country codes
+     * @return the version, completed once every pair has been fetched
+     */
+    public CompletableFuture<Long> getHolidaysVersion(List<Integer> years, List<String> countryCodes) {
+        return getHolidaysVersion(years.stream()
+                .flatMap(year -> countryCodes.stream().map(countryCode -> fetchHolidayYearAsync(year, countryCode)))
+                .toList());
+    }
 
-        // Filter common holidays
-        List<Holiday> commonHolidays = holidayMap.entrySet().stream()
-                .filter(entry -> entry.getValue().size() == countryCodes.size()) // Ensure the holiday appears in requested countries
-                .sorted(Map.Entry.comparingByKey()) // Sort by date
-                .map(entry -> new Holiday(entry.getKey(), entry.getValue())) // Create a Holiday object
-                .collect(Collectors.toList());
+    private static CompletableFuture<Long> getHolidaysVersion(List<CompletableFuture<HolidayYear>> fetches) {
+        return CompletableFuture.allOf(fetches.toArray(CompletableFuture[]::new))
+                .thenApply(ignored -> {
+                    long version = INITIAL_VERSION;
+                    for (CompletableFuture<HolidayYear> fetch : fetches) {
+                        version = combineVersion(version, fetch.join());
+                    }
+                    return version;
+                });
+    }
 
-        log.info("Found {} common holidays for the given countries.", commonHolidays.size());
-        return commonHolidays;
+    /**
+     * Folds the version of one more (year, country) pair into the version of several, in the order they are
+     * requested.
+     */
+    private static long combineVersion(long version, HolidayYear holidays) {
+        return 31 * version + holidays.version();
     }
 
+    /**
+     * Fetch the holidays of a year on the fan-out executor.
+     *
+     * @param year        the year
+     * @param countryCode the country code
+     * @return the holiday year, completed once fetched
+     */
+    public CompletableFuture<HolidayYear> fetchHolidayYearAsync(int year, String countryCode) {
+        return fetchHolidayYearAsync(year, countryCode, null, Deadline.none());
+    }
+
+    /**
+     * Fetch the holidays of a year on the fan-out executor, counting the upstream calls it makes and making them
+     * within the deadline of the inbound request.
+     */
+    private CompletableFuture<HolidayYear> fetchHolidayYearAsync(int year, String countryCode, LongAdder upstreamCalls, Deadline deadline) {
+        return CompletableFuture.supplyAsync(() -> {
+            LongAdder previousCalls = UPSTREAM_CALLS.get();
+            Deadline previousDeadline = DEADLINE.get();
+            UPSTREAM_CALLS.set(upstreamCalls);
+            DEADLINE.set(deadline);
+            try {
+                return fetchHolidayYear(year, countryCode);
+            } finally {
+                UPSTREAM_CALLS.set(previousCalls);
+                DEADLINE.set(previousDeadline);
+            }
+        }, upstreamExecutor);
+    }
 
     /**
      * Fetch holidays list.
@@ -149,54 +713,188 @@ public class HolidayService {
      * @return the list
      */
     public List<Holiday> fetchHolidays(int year, String countryCode) {
-        log.debug("Fetching holidays for year: {} and country: {}", year, countryCode);
+        return fetchHolidayYear(year, countryCode).toHolidays();
+    }
 
-        String uri = apiUrl + "/" + year + "/" + countryCode;
-        HttpRequest request = HttpRequest.newBuilder()
-                .uri(URI.create(uri))
-                .GET()
-                .build();
+    /**
+     * Fetch the holidays of a year, served from the cache when the (year, country) pair was fetched recently.
+     * Stale and frequently read entries are served as they are and reloaded in the background.
+     *
+     * @param year        the year
+     * @param countryCode the country code
+     * @return the holiday year
+     */
+    public HolidayYear fetchHolidayYear(int year, String countryCode) {
+        HolidayKey key = new HolidayKey(year, countryCode);
+        HolidayCache.Lookup lookup = holidayCache.lookup(key);
+        CachedHolidays cached;
+        if (lookup == null) {
+            cached = loadAndCache(key);
+        } else {
+            cached = lookup.holidays();
+            log.debug("Serving {} cached holidays for year: {} and country: {}", lookup.freshness(), year, countryCode);
+            if (lookup.needsRefresh()) {
+                holidayRefresher.refresh(key, () -> reloadAndCache(key));
+            }
+        }
+
+        if (cached.isNotFound()) {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "No holidays found for " + countryCode + " in year " + year);
+        }
+        return cached.holidays();
+    }
 
-        HttpClient client = HttpClient.newHttpClient();
-        HttpResponse<String> response;
+    /**
+     * Reloads the holidays of a (year, country) pair into the cache, whether or not they are cached already.
+     * A "not found" answer is cached like any other.
+     *
+     * @param year        the year
+     * @param countryCode the country code
+     */
+    public void refreshHolidays(int year, String countryCode) {
+        reloadAndCache(new HolidayKey(year, countryCode));
+    }
 
+    /**
+     * Loads holidays missing from the cache and caches them. Concurrent loads of the same key share a single upstream
+     * call.
+     */
+    private CachedHolidays loadAndCache(HolidayKey key) {
+        return upstreamFetches.execute(key, () -> {
+            // A load that finished between the cache miss and this one has cached the holidays already. Peeked at,
+            // so that the miss is not counted twice
+            CachedHolidays cached = holidayCache.peek(key);
+            return cached != null ? cached : loadIntoCache(key);
+        });
+    }
+
+    /**
+     * Loads holidays and caches them, whether or not they are cached already. Concurrent loads of the same key share
+     * a single upstream call.
+     */
+    private CachedHolidays reloadAndCache(HolidayKey key) {
+        return upstreamFetches.execute(key, () -> loadIntoCache(key));
+    }
+
+    private CachedHolidays loadIntoCache(HolidayKey key) {
+        CachedHolidays loaded;
         try {
-            response = client.send(request, HttpResponse.BodyHandlers.ofString());
-            log.debug("Received response with status code: {}", response.statusCode());
-        } catch (Exception e) {
-            log.error("Error fetching holidays: {}", e.getMessage());
-            throw new RuntimeException("Error fetching holidays: " + e.getMessage());
+            loaded = loadHolidays(key);
+        } catch (UpstreamUnavailableException e) {
+            return fallback(key, e);
         }
+        holidayCache.put(key, loaded);
+        return loaded;
+    }
+
+    /**
+     * Serves stored holidays while upstream is unavailable. They are not cached, so upstream is asked again once
+     * it recovers.
+     */
+    private CachedHolidays fallback(HolidayKey key, UpstreamUnavailableException e) {
+        Optional<HolidayYear> stored = holidayStore.find(key);
+        if (stored.isEmpty()) {
+            throw e;
+        }
+        log.warn("Upstream unavailable, serving stored holidays for year: {} and country: {}: {}",
+                key.year(), key.countryCode(), e.getMessage());
+        return CachedHolidays.found(stored.get());
+    }
+
+    /**
+     * Loads holidays missing from the cache. Past years never change, so once stored they are served from the
+     * store; other years are fetched from upstream and written through to the store.
+     */
+    private CachedHolidays loadHolidays(HolidayKey key) {
+        Optional<HolidayYear> stored = holidayStore.find(key);
+        if (stored.isPresent() && (holidayStore.isOffline() || key.year() < LocalDate.now().getYear())) {
+            log.debug("Serving stored holidays for year: {} and country: {}", key.year(), key.countryCode());
+            return CachedHolidays.found(stored.get());
+        }
+        if (holidayStore.isOffline()) {
+            throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "No stored holidays for " + key.countryCode() + " in year " + key.year());
+        }
+
+        CachedHolidays fetched = fetchFromUpstream(key);
+        if (!fetched.isNotFound()) {
+            holidayStore.save(key, fetched.holidays());
+        }
+        return fetched;
+    }
+
+    /**
+     * Calls the upstream API under the {@link UpstreamCallPolicy}. Both a holiday list and a "not found" answer are
+     * returned so they can be cached, any other failure is thrown.
+     */
+    private CachedHolidays fetchFromUpstream(HolidayKey key) {
+        int year = key.year();
+        String countryCode = key.countryCode();
+        log.debug("Fetching holidays for year: {} and country: {}", year, countryCode);
+
+        URI uri = URI.create(apiUrl + "/" + year + "/" + countryCode);
+        Deadline deadline = DEADLINE.get() == null ? Deadline.none() : DEADLINE.get();
+        // Built for each attempt, so no attempt times out past the deadline
+        HttpResponse<byte[]> response = upstreamCallPolicy.execute(() -> send(HttpRequest.newBuilder()
+                .uri(uri)
+                .timeout(deadline.cap(upstreamClientProperties.getRequestTimeout()))
+                .GET()
+                .build()), deadline);
 
         int statusCode = response.statusCode();
-        String responseBody = response.body();
+        byte[] responseBody = response.body();
 
         return switch (statusCode) {
-            case 200 -> parseHolidays(responseBody);
-            case 404 ->
-                    throw new HttpClientErrorException(HttpStatus.NOT_FOUND, "No holidays found for " + countryCode + " in year " + year);
-            case 400 -> throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, response.body());
+            case 200 -> CachedHolidays.found(parse(year, responseBody));
+            case 404 -> CachedHolidays.notFound();
+            case 400 -> throw new HttpClientErrorException(HttpStatus.BAD_REQUEST, new String(responseBody, StandardCharsets.UTF_8));
             default ->
                     throw new HttpClientErrorException(HttpStatus.valueOf(response.statusCode()), "API request failed: " + response.uri().getPath() + " with " + response.statusCode());
         };
     }
 
     /**
-     * Parses the API response JSON into a list of Holiday objects.
+     * Sends a single upstream request, counting it towards the inbound request it is made for.
      */
-    private List<Holiday> parseHolidays(String responseBody) {
+    private HttpResponse<byte[]> send(HttpRequest request) throws IOException, InterruptedException {
+        LongAdder upstreamCalls = UPSTREAM_CALLS.get();
+        if (upstreamCalls != null) {
+            upstreamCalls.increment();
+        }
+        long start = System.nanoTime();
         try {
-            ObjectMapper objectMapper = new ObjectMapper();
-            objectMapper.registerModule(new JavaTimeModule());
-            return objectMapper.readValue(responseBody, new TypeReference<>() {
-            });
-        } catch (Exception e) {
-            log.error("Error parsing API response: {}", e.getMessage());
-            throw new RuntimeException("Error parsing API response: " + e.getMessage(), e);
+            HttpResponse<byte[]> response = httpClient.send(request, HttpResponse.BodyHandlers.ofByteArray());
+            holidayMetrics.recordUpstreamCall(response.statusCode(), System.nanoTime() - start);
+            upstreamClientMetrics.record(response);
+            log.debug("Received response with status code: {} over {}", response.statusCode(), response.version());
+            return response;
+        } catch (IOException | RuntimeException e) {
+            holidayMetrics.recordUpstreamFailure(System.nanoTime() - start);
+            log.warn("Error fetching holidays from {}: {}", request.uri(), e.toString());
+            throw e;
         }
     }
 
-    private boolean isWeekend(LocalDate date) {
-        return date.getDayOfWeek() == DayOfWeek.SATURDAY || date.getDayOfWeek() == DayOfWeek.SUNDAY;
+    /**
+     * Parses a successful upstream response, recording its size and the time taken.
+     */
+    private HolidayYear parse(int year, byte[] responseBody) {
+        long start = System.nanoTime();
+        HolidayYear holidays = holidayResponseParser.parse(year, responseBody);
+        holidayMetrics.recordParse(responseBody.length, System.nanoTime() - start);
+        return holidays;
+    }
+
+    /**
+     * Waits for a fetch, rethrowing its original exception so it is still handled by the exception handler.
+     */
+    private static <T> T join(CompletableFuture<T> future) {
+        try {
+            return future.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
     }
 }
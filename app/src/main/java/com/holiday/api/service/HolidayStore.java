@@ -0,0 +1,180 @@
+package com.holiday.api.service;
+
+import com.holiday.api.config.HolidayStoreProperties;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+
+/**
+ * On-disk dataset of fetched holidays, one compact binary file per (year, country).
+ * <p>
+ * Files are loaded into memory on startup and written through whenever holidays are fetched from upstream, so
+ * the application starts warm and can keep answering, or run fully offline, when the upstream API is unavailable.
+ * <p>
+ * File layout: magic, format version, holiday count, then per holiday its epoch day and optional local name.
+ */
+@Slf4j
+public class HolidayStore {
+
+    private static final int MAGIC = 0x484F4C44;
+    private static final short FORMAT_VERSION = 1;
+    private static final String EXTENSION = ".bin";
+    private static final Pattern FILE_NAME = Pattern.compile("([A-Z]{2,3})-(\\d{4})\\" + EXTENSION);
+
+    private final HolidayStoreProperties properties;
+    private final Map<HolidayKey, HolidayYear> holidays = new ConcurrentHashMap<>();
+
+    /**
+     * Instantiates a new Holiday store.
+     *
+     * @param properties the holiday store properties
+     */
+    public HolidayStore(HolidayStoreProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Loads every stored (year, country) file into memory. Unreadable files are skipped.
+     */
+    public void load() {
+        if (!properties.isEnabled()) {
+            if (properties.isOffline()) {
+                log.warn("Offline mode is enabled but the holiday store is not, no holidays can be served");
+            }
+            return;
+        }
+
+        long start = System.nanoTime();
+        Path directory = properties.getDirectory();
+        try {
+            Files.createDirectories(directory);
+            try (Stream<Path> files = Files.list(directory)) {
+                files.forEach(this::loadFile);
+            }
+        } catch (IOException e) {
+            throw new IllegalStateException("Unable to load holiday store from " + directory, e);
+        }
+        log.info("Loaded {} stored holiday lists from {} in {} ms", holidays.size(), directory.toAbsolutePath(),
+                (System.nanoTime() - start) / 1_000_000);
+    }
+
+    private void loadFile(Path file) {
+        Matcher matcher = FILE_NAME.matcher(file.getFileName().toString());
+        if (!matcher.matches()) {
+            return;
+        }
+        HolidayKey key = new HolidayKey(Integer.parseInt(matcher.group(2)), matcher.group(1));
+        try {
+            holidays.put(key, read(key.year(), file));
+        } catch (IOException e) {
+            log.warn("Skipping unreadable holiday file {}: {}", file, e.getMessage());
+        }
+    }
+
+    /**
+     * Finds the stored holidays for a key.
+     *
+     * @param key the key
+     * @return the holidays, empty if none are stored
+     */
+    public Optional<HolidayYear> find(HolidayKey key) {
+        return Optional.ofNullable(holidays.get(storedKey(key)));
+    }
+
+    /**
+     * Stores holidays fetched for a key. Failing to write the file is logged, the holidays are kept in memory.
+     *
+     * @param key      the key
+     * @param holidays the holidays
+     */
+    public void save(HolidayKey key, HolidayYear holidays) {
+        HolidayKey storedKey = storedKey(key);
+        if (!properties.isEnabled() || !FILE_NAME.matcher(fileName(storedKey)).matches()) {
+            return;
+        }
+
+        this.holidays.put(storedKey, holidays);
+        Path file = properties.getDirectory().resolve(fileName(storedKey));
+        try {
+            write(file, holidays);
+        } catch (IOException e) {
+            log.warn("Unable to store holidays for {}: {}", key, e.getMessage());
+        }
+    }
+
+    /**
+     * Whether holidays must be served from the store only.
+     *
+     * @return the boolean
+     */
+    public boolean isOffline() {
+        return properties.isOffline();
+    }
+
+    /**
+     * Number of stored (year, country) holiday lists.
+     *
+     * @return the size
+     */
+    public int size() {
+        return holidays.size();
+    }
+
+    private static HolidayKey storedKey(HolidayKey key) {
+        return new HolidayKey(key.year(), key.countryCode().toUpperCase());
+    }
+
+    private static String fileName(HolidayKey key) {
+        return key.countryCode() + "-" + key.year() + EXTENSION;
+    }
+
+    private static HolidayYear read(int year, Path file) throws IOException {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (in.readInt() != MAGIC || in.readShort() != FORMAT_VERSION) {
+                throw new IOException("unsupported file format");
+            }
+            int count = in.readInt();
+            HolidayYear.Builder holidays = HolidayYear.builder(year);
+            for (int i = 0; i < count; i++) {
+                int epochDay = in.readInt();
+                String localName = in.readBoolean() ? in.readUTF() : null;
+                holidays.add(epochDay, localName);
+            }
+            return holidays.build();
+        }
+    }
+
+    private static void write(Path file, HolidayYear holidays) throws IOException {
+        // Written to a temporary file first so a crash never leaves a truncated file behind
+        Path temporary = file.resolveSibling(file.getFileName() + ".tmp");
+        try (DataOutputStream out = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+            out.writeInt(MAGIC);
+            out.writeShort(FORMAT_VERSION);
+            out.writeInt(holidays.size());
+            for (int i = 0; i < holidays.size(); i++) {
+                String localName = holidays.nameAt(i);
+                out.writeInt(holidays.epochDayAt(i));
+                out.writeBoolean(localName != null);
+                if (localName != null) {
+                    out.writeUTF(localName);
+                }
+            }
+        }
+        Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
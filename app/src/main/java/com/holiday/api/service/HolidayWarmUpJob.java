@@ -0,0 +1,106 @@
+package com.holiday.api.service;
+
+import com.holiday.api.config.WarmUpProperties;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Preloads the holidays of every supported country over a window of years around the current one, on startup and
+ * then every {@code holiday.warm-up.interval}, so the multi-country endpoints are served from memory.
+ * <p>
+ * Each run reloads every pair, resetting its time to live in the cache, with bounded concurrency and a cap on the
+ * number of upstream calls started per second.
+ */
+@Component
+@ConditionalOnProperty(prefix = "holiday.warm-up", name = "enabled", havingValue = "true")
+@Slf4j
+public class HolidayWarmUpJob {
+
+    @Autowired
+    private HolidayService holidayService;
+
+    @Autowired
+    private CountryCatalogue countryCatalogue;
+
+    @Autowired
+    private WarmUpProperties warmUpProperties;
+
+    @Autowired
+    @Qualifier("upstreamExecutor")
+    private Executor upstreamExecutor;
+
+    /**
+     * Warms up the holiday cache.
+     *
+     * @throws InterruptedException if interrupted while waiting for lookups to complete
+     */
+    @Scheduled(initialDelay = 0, fixedDelayString = "${holiday.warm-up.interval:PT6H}")
+    public void warmUp() throws InterruptedException {
+        int currentYear = LocalDate.now().getYear();
+        int fromYear = currentYear - warmUpProperties.getYearsBack();
+        int toYear = currentYear + warmUpProperties.getYearsAhead();
+        List<String> countryCodes = countryCatalogue.getCountryCodes();
+        int total = countryCodes.size() * (toYear - fromYear + 1);
+
+        log.info("Warming up holidays for {} countries from {} to {}", countryCodes.size(), fromYear, toYear);
+        long start = System.nanoTime();
+        long interval = TimeUnit.SECONDS.toNanos(1) / Math.max(1, warmUpProperties.getRequestsPerSecond());
+        int maxConcurrency = Math.max(1, warmUpProperties.getMaxConcurrency());
+        Semaphore slots = new Semaphore(maxConcurrency);
+        AtomicInteger completed = new AtomicInteger();
+        AtomicInteger failed = new AtomicInteger();
+
+        long nextStart = System.nanoTime();
+        for (int year = fromYear; year <= toYear; year++) {
+            for (String countryCode : countryCodes) {
+                // Pace lookups to the configured rate, then wait for a free slot
+                TimeUnit.NANOSECONDS.sleep(nextStart - System.nanoTime());
+                nextStart = Math.max(nextStart, System.nanoTime()) + interval;
+                slots.acquire();
+
+                int lookupYear = year;
+                try {
+                    CompletableFuture.runAsync(() -> holidayService.refreshHolidays(lookupYear, countryCode), upstreamExecutor)
+                            .whenComplete((ignored, e) -> {
+                                slots.release();
+                                if (e != null) {
+                                    failed.incrementAndGet();
+                                    log.debug("Warm up failed for year: {} and country: {}: {}", lookupYear, countryCode, e.getMessage());
+                                }
+                                logProgress(completed.incrementAndGet(), total);
+                            });
+                } catch (RejectedExecutionException e) {
+                    slots.release();
+                    failed.incrementAndGet();
+                    logProgress(completed.incrementAndGet(), total);
+                }
+            }
+        }
+
+        // Wait for the last lookups to finish
+        slots.acquire(maxConcurrency);
+        slots.release(maxConcurrency);
+        log.info("Warmed up {} (year, country) pairs in {} s, {} failed", total,
+                TimeUnit.NANOSECONDS.toSeconds(System.nanoTime() - start), failed.get());
+    }
+
+    private void logProgress(int completed, int total) {
+        int step = Math.max(1, total / 10);
+        if (completed % step == 0 && completed < total) {
+            log.info("Warm up progress: {}/{} (year, country) pairs loaded", completed, total);
+        }
+    }
+}
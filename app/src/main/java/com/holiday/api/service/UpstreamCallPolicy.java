@@ -0,0 +1,227 @@
+package com.holiday.api.service;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.holiday.api.config.UpstreamResilienceProperties;
+import com.holiday.api.exception.UpstreamTimeoutException;
+import com.holiday.api.exception.UpstreamUnavailableException;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Resilience policy applied to every upstream call.
+ * <p>
+ * Each attempt first takes one of a fixed number of call slots (the bulkhead), waiting up to {@code maxWait}, and
+ * then asks the {@link CircuitBreaker} for permission. Responses with a 5xx status and I/O errors count as failures
+ * and are retried with a randomly jittered, exponentially growing backoff, up to {@code maxAttempts} attempts in
+ * total. Timeouts count as failures too but are not retried, as a slow upstream would only be made slower.
+ * <p>
+ * Calls that cannot be made or keep failing end in an {@link UpstreamUnavailableException}, or an
+ * {@link UpstreamTimeoutException} for timeouts.
+ * <p>
+ * A call made for an inbound request stops at the request's {@link Deadline}: no attempt starts once it has passed,
+ * waits for a slot or a retry are cut short, and a timeout caused by the deadline rather than upstream is not held
+ * against the circuit breaker.
+ */
+@Slf4j
+public class UpstreamCallPolicy {
+
+    private final UpstreamResilienceProperties properties;
+    private final CircuitBreaker circuitBreaker;
+    private final Semaphore bulkhead;
+    private final LongAdder retries = new LongAdder();
+    private final LongAdder rejectedCalls = new LongAdder();
+
+    /**
+     * Instantiates a new Upstream call policy.
+     *
+     * @param properties the upstream resilience properties
+     * @param ticker     the time source of the circuit breaker
+     */
+    public UpstreamCallPolicy(UpstreamResilienceProperties properties, Ticker ticker) {
+        this.properties = properties;
+        this.circuitBreaker = new CircuitBreaker("upstream", properties.getFailureRateThreshold(),
+                properties.getSlidingWindowSize(), properties.getMinimumCalls(),
+                properties.getOpenDuration().toNanos(), properties.getHalfOpenCalls(), ticker);
+        this.bulkhead = new Semaphore(properties.getMaxConcurrentCalls(), true);
+    }
+
+    /**
+     * A single attempt of an upstream call.
+     *
+     * @param <T> the response body type
+     */
+    @FunctionalInterface
+    public interface UpstreamCall<T> {
+
+        /**
+         * Sends the request.
+         *
+         * @return the response
+         * @throws IOException          if the request could not be sent or the response not received
+         * @throws InterruptedException if interrupted while waiting for the response
+         */
+        HttpResponse<T> send() throws IOException, InterruptedException;
+    }
+
+    /**
+     * Makes an upstream call under the policy.
+     *
+     * @param <T>  the response body type
+     * @param call the call
+     * @return the response, whose status is below 500
+     */
+    public <T> HttpResponse<T> execute(UpstreamCall<T> call) {
+        return execute(call, Deadline.none());
+    }
+
+    /**
+     * Makes an upstream call under the policy, within the deadline of the inbound request it is made for.
+     *
+     * @param <T>      the response body type
+     * @param call     the call, whose attempts should not time out past the deadline
+     * @param deadline the deadline
+     * @return the response, whose status is below 500
+     */
+    public <T> HttpResponse<T> execute(UpstreamCall<T> call, Deadline deadline) {
+        for (int attempt = 1; ; attempt++) {
+            if (deadline.isExpired()) {
+                throw new UpstreamTimeoutException("Request deadline passed before upstream call attempt " + attempt);
+            }
+            HttpResponse<T> response;
+            try {
+                response = attempt(call, deadline);
+            } catch (HttpTimeoutException e) {
+                throw new UpstreamTimeoutException("Upstream did not respond in time: " + e.getMessage(), e);
+            } catch (IOException e) {
+                if (attempt >= properties.getMaxAttempts()) {
+                    throw new UpstreamUnavailableException("Upstream call failed after " + attempt + " attempts: " + e.getMessage(), e);
+                }
+                log.debug("Upstream call attempt {} failed, retrying: {}", attempt, e.getMessage());
+                backoff(attempt, deadline);
+                continue;
+            }
+
+            if (response.statusCode() < 500) {
+                return response;
+            }
+            if (attempt >= properties.getMaxAttempts()) {
+                throw new UpstreamUnavailableException("Upstream responded with " + response.statusCode() + " after " + attempt + " attempts");
+            }
+            log.debug("Upstream call attempt {} responded with {}, retrying", attempt, response.statusCode());
+            backoff(attempt, deadline);
+        }
+    }
+
+    private <T> HttpResponse<T> attempt(UpstreamCall<T> call, Deadline deadline) throws IOException {
+        acquireSlot(deadline);
+        try {
+            if (!circuitBreaker.tryAcquirePermission()) {
+                rejectedCalls.increment();
+                throw new UpstreamUnavailableException("Upstream circuit breaker is open");
+            }
+            HttpResponse<T> response;
+            try {
+                response = call.send();
+            } catch (IOException e) {
+                if (e instanceof HttpTimeoutException && deadline.isExpired()) {
+                    // Cut short by the request deadline, which says nothing about upstream's health
+                    circuitBreaker.releasePermission();
+                } else {
+                    circuitBreaker.onFailure();
+                }
+                throw e;
+            } catch (InterruptedException e) {
+                circuitBreaker.releasePermission();
+                Thread.currentThread().interrupt();
+                throw new UpstreamUnavailableException("Interrupted while calling upstream", e);
+            } catch (RuntimeException e) {
+                circuitBreaker.onFailure();
+                throw e;
+            }
+            if (response.statusCode() >= 500) {
+                circuitBreaker.onFailure();
+            } else {
+                circuitBreaker.onSuccess();
+            }
+            return response;
+        } finally {
+            bulkhead.release();
+        }
+    }
+
+    private void acquireSlot(Deadline deadline) {
+        boolean acquired;
+        try {
+            acquired = bulkhead.tryAcquire(deadline.cap(properties.getMaxWait()).toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted while waiting for an upstream call slot", e);
+        }
+        if (!acquired) {
+            rejectedCalls.increment();
+            throw new UpstreamUnavailableException("Too many upstream calls in flight");
+        }
+    }
+
+    /**
+     * Sleeps for a random time up to the backoff bound of the attempt, the "full jitter" strategy, so that callers
+     * failing together do not retry together. The sleep never runs past the deadline, after which no retry is made.
+     */
+    private void backoff(int attempt, Deadline deadline) {
+        retries.increment();
+        double bound = properties.getInitialBackoff().toNanos() * Math.pow(properties.getBackoffMultiplier(), attempt - 1);
+        long boundNanos = (long) Math.min(bound, properties.getMaxBackoff().toNanos());
+        if (boundNanos <= 0) {
+            return;
+        }
+        try {
+            TimeUnit.NANOSECONDS.sleep(Math.min(ThreadLocalRandom.current().nextLong(boundNanos), deadline.remainingNanos()));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new UpstreamUnavailableException("Interrupted while waiting to retry upstream", e);
+        }
+    }
+
+    /**
+     * Gets the circuit breaker state.
+     *
+     * @return the circuit breaker state
+     */
+    public CircuitBreaker.State getCircuitBreakerState() {
+        return circuitBreaker.getState();
+    }
+
+    /**
+     * Gets the number of retried attempts.
+     *
+     * @return the retries
+     */
+    public long getRetries() {
+        return retries.sum();
+    }
+
+    /**
+     * Gets the number of attempts rejected by the circuit breaker or the bulkhead.
+     *
+     * @return the rejected calls
+     */
+    public long getRejectedCalls() {
+        return rejectedCalls.sum();
+    }
+
+    /**
+     * Gets the number of upstream calls that can currently start without waiting.
+     *
+     * @return the available slots
+     */
+    public int getAvailableSlots() {
+        return bulkhead.availablePermits();
+    }
+}
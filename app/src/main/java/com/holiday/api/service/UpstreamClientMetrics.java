@@ -0,0 +1,93 @@
+package com.holiday.api.service;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+
+import javax.net.ssl.SSLSession;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.ByteBuffer;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Tracks how upstream responses were delivered, to show whether pooled connections are being reused.
+ * <p>
+ * Every distinct TLS session seen on a response stands for a full handshake; when connections are reused the
+ * number of sessions stays flat while the number of requests keeps growing.
+ */
+@Component
+@Slf4j
+public class UpstreamClientMetrics {
+
+    private static final int MAX_TRACKED_SESSIONS = 10_000;
+
+    private final LongAdder requests = new LongAdder();
+    private final LongAdder http2Responses = new LongAdder();
+    private final LongAdder newTlsSessions = new LongAdder();
+    private final Set<ByteBuffer> seenSessions = ConcurrentHashMap.newKeySet();
+
+    /**
+     * Records a received upstream response.
+     *
+     * @param response the response
+     */
+    public void record(HttpResponse<?> response) {
+        requests.increment();
+        if (response.version() == HttpClient.Version.HTTP_2) {
+            http2Responses.increment();
+        }
+        response.sslSession()
+                .map(SSLSession::getId)
+                .ifPresent(this::recordSession);
+        log.debug("Upstream connections: requests={}, http2={}, tlsSessions={}, reuseRatio={}",
+                getRequests(), getHttp2Responses(), getNewTlsSessions(), getConnectionReuseRatio());
+    }
+
+    private void recordSession(byte[] sessionId) {
+        if (seenSessions.size() >= MAX_TRACKED_SESSIONS) {
+            seenSessions.clear();
+        }
+        if (seenSessions.add(ByteBuffer.wrap(sessionId))) {
+            newTlsSessions.increment();
+        }
+    }
+
+    /**
+     * Gets the number of upstream responses received.
+     *
+     * @return the requests
+     */
+    public long getRequests() {
+        return requests.sum();
+    }
+
+    /**
+     * Gets the number of upstream responses received over HTTP/2.
+     *
+     * @return the http 2 responses
+     */
+    public long getHttp2Responses() {
+        return http2Responses.sum();
+    }
+
+    /**
+     * Gets the number of distinct TLS sessions, i.e. full handshakes, observed.
+     *
+     * @return the new tls sessions
+     */
+    public long getNewTlsSessions() {
+        return newTlsSessions.sum();
+    }
+
+    /**
+     * Gets the share of requests served over an already established TLS session.
+     *
+     * @return the connection reuse ratio, between 0 and 1
+     */
+    public double getConnectionReuseRatio() {
+        long total = getRequests();
+        return total == 0 ? 0 : 1 - (double) Math.min(getNewTlsSessions(), total) / total;
+    }
+}
@@ -0,0 +1,85 @@
+package com.holiday.api.config;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.test.context.runner.ApplicationContextRunner;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.SimpleAsyncTaskExecutor;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Fan out config test.
+ */
+class FanOutConfigTest {
+
+    private static final int MAX_CONCURRENCY = 2;
+    private static final int TASKS = 6;
+
+    private final ApplicationContextRunner contextRunner = new ApplicationContextRunner()
+            .withUserConfiguration(FanOutConfig.class)
+            .withPropertyValues("holiday.fan-out.max-concurrency=" + MAX_CONCURRENCY);
+
+    /**
+     * Test platform threading runs lookups on a thread pool as large as the concurrency limit.
+     */
+    @Test
+    void testUpstreamExecutor_PlatformThreads() {
+        contextRunner.run(context -> {
+            assertThat(context).hasSingleBean(ThreadPoolTaskExecutor.class);
+            ThreadPoolTaskExecutor executor = context.getBean("upstreamExecutor", ThreadPoolTaskExecutor.class);
+            assertThat(executor.getMaxPoolSize()).isEqualTo(MAX_CONCURRENCY);
+            assertThat(maxRunningAtOnce(executor)).isEqualTo(MAX_CONCURRENCY);
+        });
+    }
+
+    /**
+     * Test virtual threading runs lookups on virtual threads, still no more than the concurrency limit at once.
+     */
+    @Test
+    void testUpstreamExecutor_VirtualThreads() {
+        contextRunner.withPropertyValues("spring.threads.virtual.enabled=true").run(context -> {
+            assertThat(context).hasSingleBean(SimpleAsyncTaskExecutor.class);
+            assertThat(context).doesNotHaveBean(ThreadPoolTaskExecutor.class);
+            SimpleAsyncTaskExecutor executor = context.getBean("upstreamExecutor", SimpleAsyncTaskExecutor.class);
+            assertThat(executor.submit(() -> Thread.currentThread().isVirtual()).get()).isTrue();
+            assertThat(maxRunningAtOnce(executor)).isEqualTo(MAX_CONCURRENCY);
+        });
+    }
+
+    /**
+     * Submits more tasks than the concurrency limit, without blocking, and gets the most that ran at the same time.
+     */
+    private static int maxRunningAtOnce(AsyncTaskExecutor executor) throws InterruptedException {
+        AtomicInteger running = new AtomicInteger();
+        AtomicInteger maxRunning = new AtomicInteger();
+        CountDownLatch started = new CountDownLatch(MAX_CONCURRENCY);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch done = new CountDownLatch(TASKS);
+        for (int i = 0; i < TASKS; i++) {
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                started.countDown();
+                try {
+                    release.await();
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                } finally {
+                    running.decrementAndGet();
+                    done.countDown();
+                }
+            });
+        }
+
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+        // Give tasks past the limit the chance to start if the limit did not hold them back
+        Thread.sleep(100);
+        release.countDown();
+        assertThat(done.await(5, TimeUnit.SECONDS)).isTrue();
+        return maxRunning.get();
+    }
+}
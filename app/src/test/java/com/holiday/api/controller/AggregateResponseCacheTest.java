@@ -0,0 +1,80 @@
+package com.holiday.api.controller;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.config.ResponseCacheProperties;
+import com.holiday.api.domain.HolidayKey;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Aggregate response cache test.
+ */
+class AggregateResponseCacheTest {
+
+    private final AggregateResponseCache cache = new AggregateResponseCache(new ResponseCacheProperties(), new ObjectMapper());
+
+    private final AggregateResponseCache.Key usAndCanada = new AggregateResponseCache.Key("count", 2024, List.of("CA", "US"));
+    private final AggregateResponseCache.Key usAndBrazil = new AggregateResponseCache.Key("common", 2024, List.of("BR", "US"));
+
+    /**
+     * Test a response is cached serialized, with its ETag.
+     */
+    @Test
+    void testPut_CachesSerializedResponse() {
+        AggregateResponseCache.SerializedResponse response = cache.put(usAndCanada, cache.generation(), "\"v1\"", Map.of("US", 2L));
+
+        assertThat(new String(response.body(), StandardCharsets.UTF_8)).isEqualTo("{\"US\":2}");
+        assertThat(cache.get(usAndCanada)).isSameAs(response);
+        assertThat(cache.get(usAndCanada).eTag()).isEqualTo("\"v1\"");
+    }
+
+    /**
+     * Test only the responses computed from changed holidays are dropped.
+     */
+    @Test
+    void testInvalidate_DropsResponsesOfChangedCountryAndYear() {
+        cache.put(usAndCanada, cache.generation(), "\"v1\"", Map.of());
+        cache.put(usAndBrazil, cache.generation(), "\"v1\"", List.of());
+
+        cache.invalidate(new HolidayKey(2025, "CA"));
+        assertThat(cache.get(usAndCanada)).isNotNull();
+
+        cache.invalidate(new HolidayKey(2024, "CA"));
+        assertThat(cache.get(usAndCanada)).isNull();
+        assertThat(cache.get(usAndBrazil)).isNotNull();
+    }
+
+    /**
+     * Test a response computed while holidays changed is returned but not cached.
+     */
+    @Test
+    void testPut_SkipsResponse_WhenHolidaysChangedMeanwhile() {
+        long generation = cache.generation();
+        cache.invalidate(new HolidayKey(2024, "DE"));
+
+        AggregateResponseCache.SerializedResponse response = cache.put(usAndCanada, generation, "\"v1\"", Map.of());
+
+        assertThat(response.body()).isNotEmpty();
+        assertThat(cache.get(usAndCanada)).isNull();
+    }
+
+    /**
+     * Test a response for a range of years is dropped when the holidays of any year in the range change.
+     */
+    @Test
+    void testInvalidate_DropsResponsesOfRangeCoveringChangedYear() {
+        AggregateResponseCache.Key range = new AggregateResponseCache.Key("count", 2020, 2024, List.of("CA", "US"));
+        cache.put(range, cache.generation(), "\"v1\"", Map.of());
+
+        cache.invalidate(new HolidayKey(2019, "US"));
+        assertThat(cache.get(range)).isNotNull();
+
+        cache.invalidate(new HolidayKey(2022, "US"));
+        assertThat(cache.get(range)).isNull();
+    }
+}
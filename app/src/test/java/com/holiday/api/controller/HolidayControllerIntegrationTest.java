@@ -1,8 +1,13 @@
 package com.holiday.api.controller;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.domain.BusinessDays;
+import com.holiday.api.domain.FanOutResult;
 import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayCount;
+import com.holiday.api.request.BusinessDayRequest;
 import com.holiday.api.request.CountryRequest;
+import com.holiday.api.request.HolidayCheckRequest;
 import com.holiday.api.service.HolidayService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,17 +19,31 @@ import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.time.LocalDate;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 /**
@@ -50,6 +69,8 @@ class HolidayControllerIntegrationTest {
     @BeforeEach
     void setUp() {
         reset(holidayService);
+        when(holidayService.getHolidaysVersion(anyInt(), anyList())).thenReturn(CompletableFuture.completedFuture(1L));
+        when(holidayService.getHolidaysVersion(anyList(), anyList())).thenReturn(CompletableFuture.completedFuture(1L));
     }
 
     /**
@@ -97,11 +118,15 @@ class HolidayControllerIntegrationTest {
         CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
         Map<String, Long> response = Map.of("US", 5L, "CA", 3L);
 
-        when(holidayService.getHolidaysCount(request)).thenReturn(response);
+        when(holidayService.getHolidaysCount(eq(request.normalized()), any())).thenReturn(complete(response));
 
-        mockMvc.perform(post("/holidays/count")
+        MvcResult result = mockMvc.perform(post("/holidays/count")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.US").value(5))
                 .andExpect(jsonPath("$.CA").value(3));
@@ -122,6 +147,50 @@ class HolidayControllerIntegrationTest {
                 .andExpect(status().isBadRequest());
     }
 
+    /**
+     * Test a null country code is rejected with a 400 before anything is fetched.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetHolidaysCount_NullCountryCode() throws Exception {
+        mockMvc.perform(post("/holidays/count")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"year\": 2025, \"countryCodes\": [\"US\", null]}"))
+                .andExpect(status().isBadRequest());
+
+        verify(holidayService, never()).getHolidaysCount(any(), any());
+    }
+
+    /**
+     * Test a country code missing from the catalogue is rejected before anything is fetched.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetHolidaysCount_UnknownCountryCode() throws Exception {
+        CountryRequest request = new CountryRequest(2024, List.of("us", "XYZ"));
+
+        mockMvc.perform(post("/holidays/count")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+        verify(holidayService, never()).getHolidaysCount(any(), any());
+    }
+
+    /**
+     * Test the supported countries are served from the catalogue with a validator.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetCountries() throws Exception {
+        mockMvc.perform(get("/holidays/countries"))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$[?(@.countryCode == 'US')].name").value("United States"));
+    }
+
     /**
      * Test get common holidays positive case.
      *
@@ -135,17 +204,126 @@ class HolidayControllerIntegrationTest {
                         "US", "New Year", "CA", "New Year"))
         );
 
-        when(holidayService.getCommonHolidays(request)).thenReturn(holidays);
+        when(holidayService.getCommonHolidays(eq(request.normalized()), any())).thenReturn(complete(holidays));
 
-        mockMvc.perform(post("/holidays/common")
+        MvcResult result = mockMvc.perform(post("/holidays/common")
                         .contentType(MediaType.APPLICATION_JSON)
                         .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
                 .andExpect(status().isOk())
                 .andExpect(jsonPath("$.length()").value(1))
                 .andExpect(jsonPath("$[0].localNames.US").value("New Year"))
                 .andExpect(jsonPath("$[0].localNames.CA").value("New Year"));
     }
 
+    /**
+     * Test a range of years is answered with the common holidays of each year, keyed by year.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetCommonHolidays_ForRangeOfYears() throws Exception {
+        CountryRequest request = new CountryRequest(0, 2023, 2024, List.of("US", "CA"));
+        Map<Integer, List<Holiday>> holidays = Map.of(
+                2023, List.of(new Holiday(LocalDate.of(2023, 1, 1), Map.of("US", "New Year", "CA", "New Year"))),
+                2024, List.of());
+        when(holidayService.getCommonHolidaysByYear(eq(request.normalized()), any())).thenReturn(complete(holidays));
+
+        MvcResult result = mockMvc.perform(post("/holidays/common")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$['2023'].length()").value(1))
+                .andExpect(jsonPath("$['2023'][0].localNames.US").value("New Year"))
+                .andExpect(jsonPath("$['2024'].length()").value(0));
+    }
+
+    /**
+     * Test the holidays of several countries for a range of years are answered keyed by year and then by country.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetHolidays_ForRangeOfYears() throws Exception {
+        CountryRequest request = new CountryRequest(0, 2023, 2024, List.of("US", "CA"));
+        Map<Integer, Map<String, List<Holiday>>> holidays = Map.of(
+                2023, Map.of("US", List.of(new Holiday(LocalDate.of(2023, 7, 4), null, "Independence Day")), "CA", List.of()),
+                2024, Map.of("US", List.of(new Holiday(LocalDate.of(2024, 7, 4), null, "Independence Day")), "CA", List.of()));
+        when(holidayService.getHolidaysByYear(eq(request.normalized()), any())).thenReturn(complete(holidays));
+
+        MvcResult result = mockMvc.perform(post("/holidays/bulk")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$['2023'].US[0].date").value("2023-07-04"))
+                .andExpect(jsonPath("$['2024'].US[0].localName").value("Independence Day"))
+                .andExpect(jsonPath("$['2024'].CA.length()").value(0));
+    }
+
+    /**
+     * Test holiday checks take ISO dates and answer keyed by date and then by country.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testCheckHolidays() throws Exception {
+        HolidayCheckRequest request = new HolidayCheckRequest(
+                List.of(LocalDate.of(2024, 7, 4), LocalDate.of(2024, 7, 5)), List.of("US"));
+        Map<LocalDate, Map<String, Boolean>> checks = Map.of(
+                LocalDate.of(2024, 7, 4), Map.of("US", true),
+                LocalDate.of(2024, 7, 5), Map.of("US", false));
+        when(holidayService.checkHolidays(eq(request), any())).thenReturn(complete(checks));
+
+        MvcResult result = mockMvc.perform(post("/holidays/check")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"dates\":[\"2024-07-04\",\"2024-07-05\"],\"countryCodes\":[\"us\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$['2024-07-04'].US").value(true))
+                .andExpect(jsonPath("$['2024-07-05'].US").value(false));
+    }
+
+    /**
+     * Test business days between two dates are answered with the dates they were counted between.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testCountBusinessDays() throws Exception {
+        BusinessDayRequest request = new BusinessDayRequest(LocalDate.of(2024, 12, 20), LocalDate.of(2025, 1, 3), null, List.of("US"));
+        when(holidayService.countBusinessDays(eq(request), any()))
+                .thenReturn(complete(new BusinessDays(request.getFromDate(), request.getToDate(), 8)));
+
+        MvcResult result = mockMvc.perform(post("/holidays/business-days/between")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"fromDate\":\"2024-12-20\",\"toDate\":\"2025-01-03\",\"countryCodes\":[\"us\"]}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(header().exists("ETag"))
+                .andExpect(jsonPath("$.fromDate").value("2024-12-20"))
+                .andExpect(jsonPath("$.toDate").value("2025-01-03"))
+                .andExpect(jsonPath("$.businessDays").value(8));
+    }
+
     /**
      * Test get common holidays invalid request.
      *
@@ -160,5 +338,69 @@ class HolidayControllerIntegrationTest {
                         .content(objectMapper.writeValueAsString(request)))
                 .andExpect(status().isBadRequest());
     }
-}
 
+    /**
+     * Test a request repeating the ETag of the previous response is answered with 304 and no body.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testGetHolidaysCount_NotModified() throws Exception {
+        CountryRequest request = new CountryRequest(2023, List.of("US", "CA"));
+        when(holidayService.getHolidaysCount(eq(request.normalized()), any())).thenReturn(complete(Map.of("US", 5L)));
+
+        MvcResult first = mockMvc.perform(post("/holidays/count")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+        String eTag = mockMvc.perform(asyncDispatch(first))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=604800, public"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        reset(holidayService);
+        when(holidayService.getHolidaysVersion(anyInt(), anyList())).thenReturn(CompletableFuture.completedFuture(1L));
+        MvcResult second = mockMvc.perform(post("/holidays/count")
+                        .header("If-None-Match", eTag)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andReturn();
+        mockMvc.perform(asyncDispatch(second))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", eTag));
+        verify(holidayService, never()).getHolidaysCount(eq(request.normalized()), any());
+    }
+
+    /**
+     * Test a client asking for newline-delimited JSON gets the holidays count streamed one country per line.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testStreamHolidaysCount() throws Exception {
+        CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
+        doAnswer(invocation -> {
+            Consumer<HolidayCount> consumer = invocation.getArgument(1);
+            consumer.accept(new HolidayCount(2024, "CA", 3L));
+            consumer.accept(new HolidayCount(2024, "US", 5L));
+            return null;
+        }).when(holidayService).streamHolidaysCount(eq(request.normalized()), any());
+
+        MvcResult result = mockMvc.perform(post("/holidays/count")
+                        .accept(MediaType.APPLICATION_NDJSON)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(content().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string("{\"year\":2024,\"countryCode\":\"CA\",\"count\":3}\n{\"year\":2024,\"countryCode\":\"US\",\"count\":5}\n"));
+        verify(holidayService, never()).getHolidaysCount(any(), any());
+    }
+
+    private static <T> CompletableFuture<FanOutResult<T>> complete(T results) {
+        return CompletableFuture.completedFuture(new FanOutResult<>(results, Map.of(), 1L));
+    }
+}
@@ -1,7 +1,22 @@
 package com.holiday.api.controller;
 
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.holiday.api.config.DeadlineProperties;
+import com.holiday.api.config.HttpCacheProperties;
+import com.holiday.api.config.ResponseCacheProperties;
+import com.holiday.api.constants.HolidayConstants;
+import com.holiday.api.domain.BusinessDays;
+import com.holiday.api.domain.Country;
+import com.holiday.api.domain.CountryStatus;
+import com.holiday.api.domain.FanOutResult;
 import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayCount;
+import com.holiday.api.request.BusinessDayRequest;
 import com.holiday.api.request.CountryRequest;
+import com.holiday.api.request.HolidayCheckRequest;
+import com.holiday.api.service.CountryCatalogue;
 import com.holiday.api.service.HolidayService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,17 +26,38 @@ import org.mockito.Mock;
 import org.mockito.MockitoAnnotations;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.client.HttpClientErrorException;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
 import java.time.LocalDate;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.function.Consumer;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.any;
+import static org.mockito.Mockito.anyInt;
+import static org.mockito.Mockito.anyList;
+import static org.mockito.Mockito.doAnswer;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 /**
@@ -36,12 +72,20 @@ class HolidayControllerTest {
     @Mock
     private HolidayService holidayService;
 
+    private final ObjectMapper objectMapper = new ObjectMapper().registerModule(new JavaTimeModule());
+
     /**
      * Sets up.
      */
     @BeforeEach
     void setUp() {
         MockitoAnnotations.openMocks(this);
+        ReflectionTestUtils.setField(holidayController, "responseCaching", new ResponseCaching(new HttpCacheProperties()));
+        ReflectionTestUtils.setField(holidayController, "aggregateResponseCache",
+                new AggregateResponseCache(new ResponseCacheProperties(), objectMapper));
+        ReflectionTestUtils.setField(holidayController, "objectMapper", objectMapper);
+        ReflectionTestUtils.setField(holidayController, "deadlineProperties", new DeadlineProperties());
+        ReflectionTestUtils.setField(holidayController, "countryCatalogue", new CountryCatalogue(objectMapper));
     }
 
     /**
@@ -58,7 +102,7 @@ class HolidayControllerTest {
         when(holidayService.getPastHolidays(countryCode)).thenReturn(mockHolidays);
 
         ResponseEntity<List<Holiday>> response = holidayController.getPastHolidays(
-                countryCode);
+                countryCode, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertEquals(2, response.getBody().size());
     }
@@ -72,7 +116,7 @@ class HolidayControllerTest {
         when(holidayService.getPastHolidays(countryCode)).thenReturn(Collections.emptyList());
 
         ResponseEntity<List<Holiday>> response = holidayController.getPastHolidays(
-                countryCode);
+                countryCode, null);
         assertEquals(HttpStatus.OK, response.getStatusCode());
         assertTrue(response.getBody().isEmpty());
     }
@@ -81,64 +125,92 @@ class HolidayControllerTest {
      * Test get holidays count positive case.
      */
     @Test
-    void testGetHolidaysCount() {
+    void testGetHolidaysCount() throws IOException {
         CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
         Map<String, Long> mockResponse = Map.of("US", 2L, "CA", 1L);
 
-        when(holidayService.getHolidaysCount(request)).thenReturn(mockResponse);
+        when(holidayService.getHolidaysCount(eq(request.normalized()), any())).thenReturn(complete(mockResponse));
 
-        ResponseEntity<Map<String, Long>> response = holidayController.getHolidaysCount(
-                request);
+        ResponseEntity<byte[]> response = holidayController.getHolidaysCount(
+                request, null, null).join();
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(2, response.getBody().get("US"));
-        assertEquals(1, response.getBody().get("CA"));
+        Map<String, Long> counts = read(response, new TypeReference<>() {
+        });
+        assertEquals(2, counts.get("US"));
+        assertEquals(1, counts.get("CA"));
     }
 
     /**
      * Test get common holidays positive case.
      */
     @Test
-    void testGetCommonHolidays() {
+    void testGetCommonHolidays() throws IOException {
         CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
         List<Holiday> mockHolidays = Collections.singletonList(
                 new Holiday(LocalDate.of(2024, 1, 1), Map.of(
                         "US", "New Year", "CA", "New Year"))
         );
 
-        when(holidayService.getCommonHolidays(request)).thenReturn(mockHolidays);
+        when(holidayService.getCommonHolidays(eq(request.normalized()), any())).thenReturn(complete(mockHolidays));
 
-        ResponseEntity<List<Holiday>> response = holidayController.getCommonHolidays(request);
+        ResponseEntity<byte[]> response = holidayController.getCommonHolidays(request, null, null).join();
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertEquals(1, response.getBody().size());
+        assertEquals(1, read(response, new TypeReference<List<Holiday>>() {
+        }).size());
     }
 
 
     /**
-     * Test get common holidays with invalid country codes.
+     * Test get common holidays with invalid country codes is rejected without calling upstream.
      */
     @Test
     void testGetCommonHolidays_InvalidCountryCodes() {
-        CountryRequest request = new CountryRequest(2024, List.of("XX", "YY"));
-        when(holidayService.getCommonHolidays(request)).thenReturn(Collections.emptyList());
+        CountryRequest request = new CountryRequest(2024, List.of("US", "XX", "yy"));
 
-        ResponseEntity<List<Holiday>> response = holidayController.getCommonHolidays(request);
-        assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().isEmpty());
+        Exception exception = assertThrows(IllegalArgumentException.class, () ->
+                holidayController.getCommonHolidays(request, null, null));
+        assertEquals("Unknown country codes: XX, YY.", exception.getMessage());
+        verify(holidayService, never()).getCommonHolidays(any(), any());
     }
 
     /**
-     * Test get past holidays with invalid country code.
+     * Test get past holidays with invalid country code is answered with 404 without calling upstream.
      */
     @Test
     void testGetPastHolidays_InvalidCountryCode() {
         String invalidCountryCode = "XX";
-        when(holidayService.getPastHolidays(invalidCountryCode)).thenReturn(
-                Collections.emptyList());
 
-        ResponseEntity<List<Holiday>> response = holidayController.getPastHolidays(
-                invalidCountryCode);
+        HttpClientErrorException exception = assertThrows(HttpClientErrorException.class, () ->
+                holidayController.getPastHolidays(invalidCountryCode, null));
+        assertEquals(HttpStatus.NOT_FOUND, exception.getStatusCode());
+        verify(holidayService, never()).getPastHolidays(any());
+    }
+
+    /**
+     * Test get past holidays looks up a country code in any case as the upper-cased one.
+     */
+    @Test
+    void testGetPastHolidays_NormalizesCountryCode() {
+        when(holidayService.getPastHolidays("US")).thenReturn(Collections.emptyList());
+
+        ResponseEntity<List<Holiday>> response = holidayController.getPastHolidays(" us", null);
+
         assertEquals(HttpStatus.OK, response.getStatusCode());
-        assertTrue(response.getBody().isEmpty());
+        verify(holidayService).getPastHolidays("US");
+    }
+
+    /**
+     * Test the supported countries are served with a validator and a long cache lifetime.
+     */
+    @Test
+    void testGetCountries() {
+        ResponseEntity<List<Country>> response = holidayController.getCountries(null);
+        ResponseEntity<List<Country>> notModified = holidayController.getCountries(response.getHeaders().getETag());
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getBody().contains(new Country("US", "United States")));
+        assertEquals("max-age=604800, public", response.getHeaders().getCacheControl());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
     }
 
     /**
@@ -147,11 +219,327 @@ class HolidayControllerTest {
     @Test
     void testGetCommonHolidays_ServiceException() {
         CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
-        when(holidayService.getCommonHolidays(request)).thenThrow(
+        when(holidayService.getCommonHolidays(eq(request.normalized()), any())).thenThrow(
                 new RuntimeException("Service error"));
 
         Exception exception = assertThrows(RuntimeException.class, () ->
-                holidayController.getCommonHolidays(request));
+                holidayController.getCommonHolidays(request, null, null));
         assertEquals("Service error", exception.getMessage());
     }
+
+    /**
+     * Test a response carries its ETag and a long cache lifetime for a past year.
+     */
+    @Test
+    void testGetHolidaysCount_SetsETagAndCacheControl() {
+        CountryRequest request = new CountryRequest(2020, List.of("US"));
+        when(holidayService.getHolidaysCount(eq(request), any())).thenReturn(complete(Map.of("US", 2L)));
+
+        ResponseEntity<byte[]> response = holidayController.getHolidaysCount(request, null, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertTrue(response.getHeaders().getETag().startsWith("\""));
+        assertEquals("max-age=604800, public", response.getHeaders().getCacheControl());
+    }
+
+    /**
+     * Test a matching ETag is answered with 304 without computing the response.
+     */
+    @Test
+    void testGetCommonHolidays_NotModified_WhenETagMatches() {
+        CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
+        when(holidayService.getHolidaysVersion(2024, List.of("CA", "US"))).thenReturn(CompletableFuture.completedFuture(1L));
+        String eTag = new ResponseCaching(new HttpCacheProperties()).eTag("common", 1L, 2024, List.of("CA", "US"));
+
+        ResponseEntity<byte[]> response = holidayController.getCommonHolidays(request, eTag, null).join();
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        assertEquals(eTag, response.getHeaders().getETag());
+        verify(holidayService, never()).getCommonHolidays(eq(request.normalized()), any());
+    }
+
+    /**
+     * Test a stale ETag is answered with the recomputed response.
+     */
+    @Test
+    void testGetCommonHolidays_RecomputesResponse_WhenETagIsStale() {
+        CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
+        when(holidayService.getHolidaysVersion(eq(2024), anyList())).thenReturn(CompletableFuture.completedFuture(2L));
+        when(holidayService.getCommonHolidays(eq(request.normalized()), any()))
+                .thenReturn(CompletableFuture.completedFuture(new FanOutResult<>(Collections.<Holiday>emptyList(), Map.of(), 2L)));
+        String eTag = new ResponseCaching(new HttpCacheProperties()).eTag("common", 1L, 2024, List.of("CA", "US"));
+
+        ResponseEntity<byte[]> response = holidayController.getCommonHolidays(request, eTag, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertNotEquals(eTag, response.getHeaders().getETag());
+    }
+
+    /**
+     * Test past holidays are not looked up when the client's copy is current.
+     */
+    @Test
+    void testGetPastHolidays_NotModified_WhenETagMatches() {
+        when(holidayService.getPastHolidaysVersion("US")).thenReturn(7L);
+        String eTag = new ResponseCaching(new HttpCacheProperties()).eTag("past", 7L, "US", LocalDate.now());
+
+        ResponseEntity<List<Holiday>> response = holidayController.getPastHolidays("US", eTag);
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+        verify(holidayService, never()).getPastHolidays("US");
+    }
+
+    /**
+     * Test requests for the same countries in another order or case share one computed and serialized response.
+     */
+    @Test
+    void testGetHolidaysCount_ServesRepeatedRequestsFromResponseCache() {
+        CountryRequest normalized = new CountryRequest(2024, List.of("CA", "US"));
+        when(holidayService.getHolidaysCount(eq(normalized), any())).thenReturn(complete(Map.of("US", 2L, "CA", 1L)));
+
+        ResponseEntity<byte[]> first = holidayController.getHolidaysCount(new CountryRequest(2024, List.of("US", "CA")), null, null).join();
+        ResponseEntity<byte[]> second = holidayController.getHolidaysCount(new CountryRequest(2024, List.of("ca", "US", "us")), null, null).join();
+        ResponseEntity<byte[]> notModified = holidayController.getHolidaysCount(normalized, first.getHeaders().getETag(), null).join();
+
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        assertSame(first.getBody(), second.getBody());
+        assertEquals(first.getHeaders().getETag(), second.getHeaders().getETag());
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+        verify(holidayService, times(1)).getHolidaysCount(eq(normalized), any());
+        verify(holidayService, never()).getHolidaysVersion(anyInt(), anyList());
+    }
+
+    /**
+     * Test duplicate country codes count once towards the two countries common holidays need.
+     */
+    @Test
+    void testGetCommonHolidays_RejectsDuplicatesOfOneCountry() {
+        CountryRequest request = new CountryRequest(2024, List.of("US", "us"));
+
+        assertThrows(IllegalArgumentException.class, () -> holidayController.getCommonHolidays(request, null, null));
+    }
+
+    /**
+     * Test streamed holidays count is written as one JSON line per country.
+     */
+    @Test
+    void testStreamHolidaysCount_WritesOneLinePerCountry() throws IOException {
+        CountryRequest request = new CountryRequest(2024, List.of("us", "CA"));
+        doAnswer(invocation -> {
+            Consumer<HolidayCount> consumer = invocation.getArgument(1);
+            consumer.accept(new HolidayCount(2024, "US", 2L));
+            consumer.accept(new HolidayCount(2024, "CA", 1L));
+            return null;
+        }).when(holidayService).streamHolidaysCount(eq(request.normalized()), any());
+
+        ResponseEntity<StreamingResponseBody> response = holidayController.streamHolidaysCount(request);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        response.getBody().writeTo(out);
+
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        String[] lines = out.toString(StandardCharsets.UTF_8).split("\n");
+        assertEquals(2, lines.length);
+        assertEquals(new HolidayCount(2024, "US", 2L), objectMapper.readValue(lines[0], HolidayCount.class));
+        assertEquals(new HolidayCount(2024, "CA", 1L), objectMapper.readValue(lines[1], HolidayCount.class));
+    }
+
+    /**
+     * Test streaming common holidays validates the request before anything is written.
+     */
+    @Test
+    void testStreamCommonHolidays_RejectsSingleCountry() {
+        CountryRequest request = new CountryRequest(2024, List.of("US"));
+
+        assertThrows(IllegalArgumentException.class, () -> holidayController.streamCommonHolidays(request));
+        verify(holidayService, never()).streamCommonHolidays(any(), any());
+    }
+
+    /**
+     * Test a range of years is answered with the holidays count of each year, keyed by year.
+     */
+    @Test
+    void testGetHolidaysCount_ForRangeOfYears() throws IOException {
+        CountryRequest request = new CountryRequest(0, 2022, 2023, List.of("US"));
+        Map<Integer, Map<String, Long>> mockResponse = Map.of(2022, Map.of("US", 10L), 2023, Map.of("US", 11L));
+        when(holidayService.getHolidaysCountByYear(eq(request.normalized()), any())).thenReturn(complete(mockResponse));
+
+        ResponseEntity<byte[]> response = holidayController.getHolidaysCount(request, null, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<Integer, Map<String, Long>> countByYear = read(response, new TypeReference<>() {
+        });
+        assertEquals(10L, countByYear.get(2022).get("US"));
+        assertEquals(11L, countByYear.get(2023).get("US"));
+        assertNotEquals(new ResponseCaching(new HttpCacheProperties()).eTag("count", 1L, 2022, List.of("US")),
+                response.getHeaders().getETag());
+    }
+
+    /**
+     * Test invalid ranges of years are rejected before anything is fetched.
+     */
+    @Test
+    void testGetCommonHolidays_RejectsInvalidRangesOfYears() {
+        List<String> countryCodes = List.of("US", "CA");
+
+        assertThrows(IllegalArgumentException.class, () ->
+                holidayController.getCommonHolidays(new CountryRequest(0, 2024, null, countryCodes), null, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                holidayController.getCommonHolidays(new CountryRequest(0, 2025, 2024, countryCodes), null, null));
+        assertThrows(IllegalArgumentException.class, () ->
+                holidayController.getCommonHolidays(new CountryRequest(0, 2000, 2000 + HolidayConstants.MAX_YEARS_PER_REQUEST, countryCodes), null, null));
+        verify(holidayService, never()).getCommonHolidaysByYear(any(), any());
+    }
+
+    /**
+     * Test the holidays of many countries are answered in one response, grouped by country.
+     */
+    @Test
+    void testGetHolidays_GroupsHolidaysByCountry() throws IOException {
+        CountryRequest request = new CountryRequest(2024, List.of("us", "CA"));
+        Map<String, List<Holiday>> holidays = Map.of(
+                "CA", List.of(new Holiday(LocalDate.of(2024, 7, 1), null, "Canada Day")),
+                "US", List.of(new Holiday(LocalDate.of(2024, 7, 4), null, "Independence Day")));
+        when(holidayService.getHolidays(eq(request.normalized()), any())).thenReturn(complete(holidays));
+
+        ResponseEntity<byte[]> response = holidayController.getHolidays(request, null, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<String, List<Holiday>> holidaysByCountry = read(response, new TypeReference<>() {
+        });
+        assertEquals("Canada Day", holidaysByCountry.get("CA").get(0).getLocalName());
+        assertEquals(LocalDate.of(2024, 7, 4), holidaysByCountry.get("US").get(0).getDate());
+        assertNotEquals(new ResponseCaching(new HttpCacheProperties()).eTag("count", 1L, 2024, List.of("CA", "US")),
+                response.getHeaders().getETag());
+    }
+
+    /**
+     * Test holiday checks are answered for each date and country, and answered with 304 when unchanged.
+     */
+    @Test
+    void testCheckHolidays_AnswersEachDateAndCountry() throws IOException {
+        LocalDate christmas = LocalDate.of(2024, 12, 25);
+        LocalDate boxingDay = LocalDate.of(2024, 12, 26);
+        HolidayCheckRequest request = new HolidayCheckRequest(List.of(christmas, boxingDay, christmas), List.of("us", "GB"));
+        Map<LocalDate, Map<String, Boolean>> checks = Map.of(
+                christmas, Map.of("GB", true, "US", true),
+                boxingDay, Map.of("GB", true, "US", false));
+        when(holidayService.checkHolidays(eq(request.normalized()), any())).thenReturn(complete(checks));
+
+        ResponseEntity<byte[]> response = holidayController.checkHolidays(request, null, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        Map<LocalDate, Map<String, Boolean>> body = read(response, new TypeReference<>() {
+        });
+        assertTrue(body.get(christmas).get("US"));
+        assertFalse(body.get(boxingDay).get("US"));
+        assertEquals(List.of(christmas, boxingDay), request.normalized().getDates());
+
+        ResponseEntity<byte[]> notModified = holidayController.checkHolidays(request, response.getHeaders().getETag(), null).join();
+        assertEquals(HttpStatus.NOT_MODIFIED, notModified.getStatusCode());
+    }
+
+    /**
+     * Test holiday checks without dates, with unknown or blank country codes, or for more pairs than allowed, are
+     * rejected before anything is fetched.
+     */
+    @Test
+    void testCheckHolidays_RejectsInvalidRequests() {
+        LocalDate start = LocalDate.of(2024, 1, 1);
+        List<LocalDate> tooManyDates = start.datesUntil(start.plusDays(HolidayConstants.MAX_CHECKS_PER_REQUEST / 2 + 1)).toList();
+
+        assertThrows(IllegalArgumentException.class,
+                () -> holidayController.checkHolidays(new HolidayCheckRequest(List.of(), List.of("US")), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> holidayController.checkHolidays(new HolidayCheckRequest(List.of(start), List.of("XX")), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> holidayController.checkHolidays(new HolidayCheckRequest(List.of(start), List.of("US", " ")), null, null));
+        assertThrows(IllegalArgumentException.class,
+                () -> holidayController.checkHolidays(new HolidayCheckRequest(tooManyDates, List.of("US", "GB")), null, null));
+        verify(holidayService, never()).checkHolidays(any(), any());
+    }
+
+    /**
+     * Test business days are answered with the dates they run between.
+     */
+    @Test
+    void testAddBusinessDays() throws IOException {
+        BusinessDayRequest request = new BusinessDayRequest(LocalDate.of(2024, 12, 24), null, 2L, List.of("gb", "US"));
+        BusinessDays businessDays = new BusinessDays(LocalDate.of(2024, 12, 24), LocalDate.of(2024, 12, 30), 2);
+        when(holidayService.addBusinessDays(eq(request.normalized()), any())).thenReturn(complete(businessDays));
+
+        ResponseEntity<byte[]> response = holidayController.addBusinessDays(request, null, null).join();
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(businessDays, read(response, new TypeReference<BusinessDays>() {
+        }));
+        assertEquals(List.of("GB", "US"), request.normalized().getCountryCodes());
+    }
+
+    /**
+     * Test business day requests missing what they compute from, or spanning too much, are rejected before anything
+     * is fetched.
+     */
+    @Test
+    void testBusinessDays_RejectsInvalidRequests() {
+        LocalDate date = LocalDate.of(2024, 1, 1);
+
+        assertThrows(IllegalArgumentException.class, () -> holidayController.addBusinessDays(
+                new BusinessDayRequest(date, null, null, List.of("US")), null, null));
+        assertThrows(IllegalArgumentException.class, () -> holidayController.addBusinessDays(
+                new BusinessDayRequest(date, null, HolidayConstants.MAX_BUSINESS_DAYS_PER_REQUEST + 1L, List.of("US")), null, null));
+        assertThrows(IllegalArgumentException.class, () -> holidayController.countBusinessDays(
+                new BusinessDayRequest(date, null, null, List.of("US")), null, null));
+        assertThrows(IllegalArgumentException.class, () -> holidayController.countBusinessDays(
+                new BusinessDayRequest(date, date.plusYears(HolidayConstants.MAX_YEARS_PER_REQUEST), null, List.of("US")), null, null));
+        assertThrows(IllegalArgumentException.class, () -> holidayController.countBusinessDays(
+                new BusinessDayRequest(date, date.plusDays(1), null, List.of()), null, null));
+        verify(holidayService, never()).addBusinessDays(any(), any());
+        verify(holidayService, never()).countBusinessDays(any(), any());
+    }
+
+    /**
+     * Test countries that were not fetched by the deadline are reported, and the partial response is not cached.
+     */
+    @Test
+    void testGetHolidaysCount_PartialResponse_WhenCountriesAreMissing() throws IOException {
+        CountryRequest request = new CountryRequest(2024, List.of("US", "CA"));
+        FanOutResult<Map<String, Long>> partial = new FanOutResult<>(Map.of("US", 2L),
+                Map.of("CA", CountryStatus.TIMED_OUT, "US", CountryStatus.OK), 1L);
+        when(holidayService.getHolidaysCount(eq(request.normalized()), any())).thenReturn(CompletableFuture.completedFuture(partial));
+
+        ResponseEntity<byte[]> first = holidayController.getHolidaysCount(request, null, "500").join();
+        ResponseEntity<byte[]> second = holidayController.getHolidaysCount(request, null, "500").join();
+
+        assertEquals(HttpStatus.OK, first.getStatusCode());
+        assertNull(first.getHeaders().getETag());
+        assertEquals("no-store", first.getHeaders().getCacheControl());
+        Map<String, Object> body = read(first, new TypeReference<>() {
+        });
+        assertEquals(true, body.get("partial"));
+        assertEquals(Map.of("US", 2), body.get("results"));
+        assertEquals(Map.of("CA", "TIMED_OUT", "US", "OK"), body.get("countryStatus"));
+        assertFalse(body.containsKey("version"));
+        assertEquals(HttpStatus.OK, second.getStatusCode());
+        verify(holidayService, times(2)).getHolidaysCount(eq(request.normalized()), any());
+    }
+
+    /**
+     * Test a request timeout that is not a positive number of milliseconds is rejected.
+     */
+    @Test
+    void testGetHolidaysCount_RejectsInvalidRequestTimeout() {
+        CountryRequest request = new CountryRequest(2024, List.of("US"));
+
+        assertThrows(IllegalArgumentException.class, () -> holidayController.getHolidaysCount(request, null, "0"));
+        assertThrows(IllegalArgumentException.class, () -> holidayController.getHolidaysCount(request, null, "soon"));
+        verify(holidayService, never()).getHolidaysCount(any(), any());
+    }
+
+    private static <T> CompletableFuture<FanOutResult<T>> complete(T results) {
+        return CompletableFuture.completedFuture(new FanOutResult<>(results, Map.of(), 1L));
+    }
+
+    private <T> T read(ResponseEntity<byte[]> response, TypeReference<T> type) throws IOException {
+        return objectMapper.readValue(response.getBody(), type);
+    }
 }
@@ -0,0 +1,57 @@
+package com.holiday.api.controller;
+
+import com.holiday.api.config.HttpCacheProperties;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Response caching test.
+ */
+class ResponseCachingTest {
+
+    private final ResponseCaching responseCaching = new ResponseCaching(new HttpCacheProperties());
+
+    /**
+     * Test the ETag changes with the endpoint, the inputs and the version of the holidays.
+     */
+    @Test
+    void testETag_DependsOnEndpointInputsAndVersion() {
+        String eTag = responseCaching.eTag("count", 1L, 2025, List.of("US", "CA"));
+
+        assertThat(eTag).startsWith("\"").endsWith("\"");
+        assertThat(responseCaching.eTag("count", 1L, 2025, List.of("US", "CA"))).isEqualTo(eTag);
+        assertThat(responseCaching.eTag("common", 1L, 2025, List.of("US", "CA"))).isNotEqualTo(eTag);
+        assertThat(responseCaching.eTag("count", 1L, 2024, List.of("US", "CA"))).isNotEqualTo(eTag);
+        assertThat(responseCaching.eTag("count", 2L, 2025, List.of("US", "CA"))).isNotEqualTo(eTag);
+    }
+
+    /**
+     * Test If-None-Match lists, weak validators and the wildcard are matched.
+     */
+    @Test
+    void testMatches() {
+        String eTag = "\"abc\"";
+
+        assertThat(responseCaching.matches(null, eTag)).isFalse();
+        assertThat(responseCaching.matches("\"abc\"", eTag)).isTrue();
+        assertThat(responseCaching.matches("\"xyz\", W/\"abc\"", eTag)).isTrue();
+        assertThat(responseCaching.matches("*", eTag)).isTrue();
+        assertThat(responseCaching.matches("\"abcd\"", eTag)).isFalse();
+    }
+
+    /**
+     * Test responses for past years are cached longer than those for the current year.
+     */
+    @Test
+    void testForYear_LongForHistoricalYears() {
+        int currentYear = LocalDate.now().getYear();
+
+        assertThat(responseCaching.forYear(currentYear - 1).getHeaderValue()).isEqualTo("max-age=604800, public");
+        assertThat(responseCaching.forYear(currentYear).getHeaderValue()).isEqualTo("max-age=3600, public");
+        assertThat(responseCaching.forYear(currentYear + 1).getHeaderValue()).isEqualTo("max-age=3600, public");
+    }
+}
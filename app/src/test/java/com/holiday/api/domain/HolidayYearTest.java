@@ -0,0 +1,92 @@
+package com.holiday.api.domain;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Holiday year test.
+ */
+class HolidayYearTest {
+
+    /**
+     * Test holidays are sorted by date and keep their names.
+     */
+    @Test
+    void testToHolidays_SortedByDate() {
+        HolidayYear holidays = HolidayYear.of(2025, List.of(
+                new Holiday(LocalDate.of(2025, 12, 25), null, "Christmas Day"),
+                new Holiday(LocalDate.of(2025, 1, 1), null, "New Year's Day")));
+
+        assertThat(holidays.toHolidays()).extracting(Holiday::getDate)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 25));
+        assertThat(holidays.toHolidays()).extracting(Holiday::getLocalName)
+                .containsExactly("New Year's Day", "Christmas Day");
+    }
+
+    /**
+     * Test equal holiday years have the same version, and a renamed or moved holiday changes it.
+     */
+    @Test
+    void testVersion_ChangesWithHolidays() {
+        HolidayYear holidays = HolidayYear.builder(2025)
+                .add(LocalDate.of(2025, 1, 1).toEpochDay(), "New Year's Day")
+                .build();
+
+        assertThat(HolidayYear.builder(2025).add(LocalDate.of(2025, 1, 1).toEpochDay(), "New Year's Day").build().version())
+                .isEqualTo(holidays.version());
+        assertThat(HolidayYear.builder(2025).add(LocalDate.of(2025, 1, 1).toEpochDay(), "New Year").build().version())
+                .isNotEqualTo(holidays.version());
+        assertThat(HolidayYear.builder(2025).add(LocalDate.of(2025, 1, 2).toEpochDay(), "New Year's Day").build().version())
+                .isNotEqualTo(holidays.version());
+    }
+
+    /**
+     * Test the day-of-year bitmap, including the last day of a leap year.
+     */
+    @Test
+    void testIsHoliday_UsesDayOfYearBitmap() {
+        HolidayYear holidays = HolidayYear.builder(2024)
+                .add(LocalDate.of(2024, 3, 1).toEpochDay(), "March")
+                .add(LocalDate.of(2024, 12, 31).toEpochDay(), "New Year's Eve")
+                .build();
+
+        assertThat(holidays.isHoliday(LocalDate.of(2024, 3, 1))).isTrue();
+        assertThat(holidays.isHoliday(LocalDate.of(2024, 12, 31))).isTrue();
+        assertThat(holidays.isHolidayOnDayOfYear(366)).isTrue();
+        assertThat(holidays.isHoliday(LocalDate.of(2024, 2, 29))).isFalse();
+        assertThat(holidays.isHoliday(LocalDate.of(2025, 3, 1))).isFalse();
+    }
+
+    /**
+     * Test holidays on a Saturday or Sunday are not counted, while two holidays on one weekday are.
+     */
+    @Test
+    void testCountWeekdayHolidays() {
+        HolidayYear holidays = HolidayYear.builder(2025)
+                .add(LocalDate.of(2025, 1, 1).toEpochDay(), "Wednesday")
+                .add(LocalDate.of(2025, 1, 1).toEpochDay(), "Regional Wednesday")
+                .add(LocalDate.of(2025, 1, 4).toEpochDay(), "Saturday")
+                .add(LocalDate.of(2025, 1, 5).toEpochDay(), "Sunday")
+                .build();
+
+        assertThat(holidays.size()).isEqualTo(4);
+        assertThat(holidays.countWeekdayHolidays()).isEqualTo(2);
+        assertThat(holidays.nameOn(LocalDate.of(2025, 1, 1))).isEqualTo("Wednesday");
+        assertThat(holidays.nameOn(LocalDate.of(2025, 1, 2))).isNull();
+    }
+
+    /**
+     * Test equal names are shared between years.
+     */
+    @Test
+    void testNamesAreInterned() {
+        HolidayYear first = HolidayYear.builder(2024).add(LocalDate.of(2024, 1, 1).toEpochDay(), new String("New Year")).build();
+        HolidayYear second = HolidayYear.builder(2025).add(LocalDate.of(2025, 1, 1).toEpochDay(), new String("New Year")).build();
+
+        assertThat(first.nameAt(0)).isSameAs(second.nameAt(0));
+    }
+}
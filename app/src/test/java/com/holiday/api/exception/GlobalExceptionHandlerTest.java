@@ -53,6 +53,25 @@ class GlobalExceptionHandlerTest {
         assertThat(response.getBody()).containsEntry("message", "External service is unreachable: Timeout while connecting");
     }
 
+    @Test
+    void testHandleUpstreamTimeoutException() {
+        UpstreamTimeoutException ex = new UpstreamTimeoutException("request timed out", new RuntimeException());
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleUpstreamTimeoutException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.GATEWAY_TIMEOUT);
+        assertThat(response.getBody()).containsEntry("message", "External service timed out: request timed out");
+    }
+
+    @Test
+    void testHandleUpstreamUnavailableException() {
+        UpstreamUnavailableException ex = new UpstreamUnavailableException("Upstream circuit breaker is open");
+        ResponseEntity<Map<String, Object>> response = exceptionHandler.handleUpstreamUnavailableException(ex);
+
+        assertThat(response.getStatusCode()).isEqualTo(HttpStatus.SERVICE_UNAVAILABLE);
+        assertThat(response.getBody())
+                .containsEntry("message", "External service is unavailable: Upstream circuit breaker is open");
+    }
+
     @Test
     void testHandleHttpMessageNotReadableException() {
         HttpMessageNotReadableException ex = mock(HttpMessageNotReadableException.class);
@@ -0,0 +1,90 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.HolidayYear;
+import org.junit.jupiter.api.Test;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Business calendar test.
+ */
+class BusinessCalendarTest {
+
+    private final BusinessCalendar christmas = BusinessCalendar.of(2024, 2025, Map.of(
+            2024, Map.of(
+                    "US", year(2024, "2024-12-25", "Christmas Day"),
+                    "GB", year(2024, "2024-12-25", "Christmas Day", "2024-12-26", "Boxing Day")),
+            2025, Map.of(
+                    "US", year(2025, "2025-01-01", "New Year's Day"),
+                    "GB", year(2025, "2025-01-01", "New Year's Day"))));
+
+    /**
+     * Test business days skip weekends and the holidays of every country, across the turn of the year.
+     */
+    @Test
+    void testCountBusinessDays_SkipsWeekendsAndHolidaysOfEveryCountry() {
+        LocalDate from = LocalDate.of(2024, 12, 20);
+        LocalDate to = LocalDate.of(2025, 1, 3);
+
+        assertThat(christmas.countBusinessDays(from, to)).isEqualTo(7);
+        assertThat(christmas.countBusinessDays(to, from)).isEqualTo(-7);
+        assertThat(christmas.countBusinessDays(from, from)).isZero();
+    }
+
+    /**
+     * Test adding business days lands on the n-th business day in either direction.
+     */
+    @Test
+    void testAddBusinessDays_MovesForwardAndBackward() {
+        LocalDate christmasEve = LocalDate.of(2024, 12, 24);
+
+        assertThat(christmas.addBusinessDays(christmasEve, 1)).isEqualTo(LocalDate.of(2024, 12, 27));
+        assertThat(christmas.addBusinessDays(christmasEve, 4)).isEqualTo(LocalDate.of(2025, 1, 2));
+        assertThat(christmas.addBusinessDays(LocalDate.of(2025, 1, 2), -1)).isEqualTo(LocalDate.of(2024, 12, 31));
+        assertThat(christmas.addBusinessDays(christmasEve, 0)).isEqualTo(christmasEve);
+    }
+
+    /**
+     * Test adding business days past the years of the calendar gives no date.
+     */
+    @Test
+    void testAddBusinessDays_NullPastTheCalendar() {
+        assertThat(christmas.addBusinessDays(LocalDate.of(2025, 12, 31), 1)).isNull();
+        assertThat(christmas.addBusinessDays(LocalDate.of(2024, 1, 1), -1)).isNull();
+    }
+
+    /**
+     * Test word-level counting and adding agree with stepping one day at a time over several years.
+     */
+    @Test
+    void testBusinessDays_MatchDayByDay() {
+        Set<LocalDate> holidays = Set.of(LocalDate.of(2023, 1, 2), LocalDate.of(2024, 2, 29), LocalDate.of(2024, 12, 31));
+        BusinessCalendar calendar = BusinessCalendar.of(2023, 2025, Map.of(
+                2023, Map.of("US", year(2023, "2023-01-02", "New Year's Day (observed)")),
+                2024, Map.of("US", year(2024, "2024-02-29", "Leap Day", "2024-12-31", "New Year's Eve"))));
+        LocalDate start = LocalDate.of(2023, 1, 1);
+
+        long businessDays = 0;
+        for (LocalDate date = start.plusDays(1); date.getYear() <= 2025; date = date.plusDays(1)) {
+            if (date.getDayOfWeek().getValue() < DayOfWeek.SATURDAY.getValue() && !holidays.contains(date)) {
+                businessDays++;
+                assertThat(calendar.addBusinessDays(start, businessDays)).isEqualTo(date);
+                assertThat(calendar.addBusinessDays(date, 1 - businessDays)).isEqualTo(LocalDate.of(2023, 1, 3));
+            }
+            assertThat(calendar.countBusinessDays(start, date)).isEqualTo(businessDays);
+        }
+    }
+
+    private static HolidayYear year(int year, String... datesAndNames) {
+        HolidayYear.Builder builder = HolidayYear.builder(year);
+        for (int i = 0; i < datesAndNames.length; i += 2) {
+            builder.add(LocalDate.parse(datesAndNames[i]).toEpochDay(), datesAndNames[i + 1]);
+        }
+        return builder.build();
+    }
+}
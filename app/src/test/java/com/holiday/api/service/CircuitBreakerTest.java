@@ -0,0 +1,141 @@
+package com.holiday.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Circuit breaker test.
+ */
+class CircuitBreakerTest {
+
+    private static final Duration OPEN_DURATION = Duration.ofSeconds(30);
+
+    private final AtomicLong nanos = new AtomicLong();
+    private CircuitBreaker circuitBreaker;
+
+    /**
+     * Sets up a breaker opening at 50% failures over the last 4 calls, with 2 trial calls.
+     */
+    @BeforeEach
+    void setUp() {
+        circuitBreaker = new CircuitBreaker("test", 50, 4, 4, OPEN_DURATION.toNanos(), 2, nanos::get);
+    }
+
+    /**
+     * Test the breaker stays closed until the minimum number of calls is known.
+     */
+    @Test
+    void testOnFailure_StaysClosedBelowMinimumCalls() {
+        call(false);
+        call(false);
+        call(false);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    /**
+     * Test the breaker opens once the failure rate reaches the threshold and then rejects calls.
+     */
+    @Test
+    void testOnFailure_OpensAtThreshold() {
+        call(true);
+        call(true);
+        call(false);
+        call(false);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    /**
+     * Test only the most recent calls count towards the failure rate: the first failure has left the window by the
+     * time the second one is recorded, so the rate stays at 25%.
+     */
+    @Test
+    void testOnFailure_OldOutcomesLeaveTheWindow() {
+        call(true);
+        call(false);
+        call(false);
+        call(false);
+        call(false);
+        call(true);
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    /**
+     * Test the breaker lets a limited number of trial calls through after the open duration and closes when they
+     * all succeed.
+     */
+    @Test
+    void testHalfOpen_ClosesWhenTrialCallsSucceed() {
+        open();
+        nanos.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.HALF_OPEN);
+
+        circuitBreaker.onSuccess();
+        circuitBreaker.onSuccess();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.CLOSED);
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+    }
+
+    /**
+     * Test a failed trial call opens the breaker again for a full open duration.
+     */
+    @Test
+    void testHalfOpen_ReopensWhenTrialCallFails() {
+        open();
+        nanos.addAndGet(OPEN_DURATION.toNanos());
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        circuitBreaker.onFailure();
+
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+        nanos.addAndGet(OPEN_DURATION.toNanos() - 1);
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    /**
+     * Test a released trial permission can be used by another call.
+     */
+    @Test
+    void testReleasePermission_ReturnsTrialPermission() {
+        open();
+        nanos.addAndGet(OPEN_DURATION.toNanos());
+        circuitBreaker.tryAcquirePermission();
+        circuitBreaker.tryAcquirePermission();
+
+        circuitBreaker.releasePermission();
+
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        assertThat(circuitBreaker.tryAcquirePermission()).isFalse();
+    }
+
+    private void open() {
+        for (int i = 0; i < 4; i++) {
+            call(true);
+        }
+        assertThat(circuitBreaker.getState()).isEqualTo(CircuitBreaker.State.OPEN);
+    }
+
+    private void call(boolean failure) {
+        assertThat(circuitBreaker.tryAcquirePermission()).isTrue();
+        if (failure) {
+            circuitBreaker.onFailure();
+        } else {
+            circuitBreaker.onSuccess();
+        }
+    }
+}
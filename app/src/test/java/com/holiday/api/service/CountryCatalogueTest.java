@@ -0,0 +1,37 @@
+package com.holiday.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.domain.Country;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Country catalogue test.
+ */
+class CountryCatalogueTest {
+
+    private final CountryCatalogue countryCatalogue = new CountryCatalogue(new ObjectMapper());
+
+    /**
+     * Test the supported countries are loaded from countries.json.
+     */
+    @Test
+    void testGetCountries_LoadsCountriesJson() {
+        assertThat(countryCatalogue.getCountries())
+                .isNotEmpty()
+                .contains(new Country("US", "United States"), new Country("NL", "Netherlands"));
+        assertThat(countryCatalogue.getCountryCodes()).contains("US", "NL", "BR");
+    }
+
+    /**
+     * Test only the listed country codes are known, as listed.
+     */
+    @Test
+    void testIsKnown_MatchesListedCodes() {
+        assertThat(countryCatalogue.isKnown("US")).isTrue();
+        assertThat(countryCatalogue.isKnown("us")).isFalse();
+        assertThat(countryCatalogue.isKnown("XYZ")).isFalse();
+        assertThat(countryCatalogue.getCountryCodes()).hasSize(countryCatalogue.getCountries().size());
+    }
+}
@@ -0,0 +1,188 @@
+package com.holiday.api.service;
+
+import com.holiday.api.config.HolidayCacheProperties;
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Holiday cache test.
+ */
+class HolidayCacheTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private HolidayCache holidayCache;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        HolidayCacheProperties properties = new HolidayCacheProperties();
+        properties.setTtl(Duration.ofHours(1));
+        properties.setNegativeTtl(Duration.ofMinutes(1));
+        properties.setMaxStale(Duration.ofHours(2));
+        properties.setRefreshAhead(Duration.ofMinutes(10));
+        properties.setRefreshAheadMinReads(3);
+        holidayCache = new HolidayCache(properties, nanos::get);
+    }
+
+    /**
+     * Test cached holidays are returned until the ttl expires.
+     */
+    @Test
+    void testGetIfPresent_ExpiresAfterTtl() {
+        HolidayKey key = new HolidayKey(2025, "US");
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of(new Holiday(LocalDate.of(2025, 1, 1), null, "New Year")))));
+
+        advance(Duration.ofMinutes(59));
+        assertThat(holidayCache.getIfPresent(key).size()).isEqualTo(1);
+
+        advance(Duration.ofMinutes(2));
+        assertThat(holidayCache.getIfPresent(key)).isNull();
+    }
+
+    /**
+     * Test not found answers expire after the shorter negative ttl.
+     */
+    @Test
+    void testGetIfPresent_NotFoundExpiresAfterNegativeTtl() {
+        HolidayKey key = new HolidayKey(2025, "XYZ");
+        holidayCache.put(key, CachedHolidays.notFound());
+
+        assertThat(holidayCache.getIfPresent(key).isNotFound()).isTrue();
+
+        advance(Duration.ofMinutes(2));
+        assertThat(holidayCache.getIfPresent(key)).isNull();
+    }
+
+    /**
+     * Test holidays past their ttl are looked up as stale until the maximum staleness has passed.
+     */
+    @Test
+    void testLookup_ServesStaleUntilMaxStale() {
+        HolidayKey key = new HolidayKey(2025, "US");
+        CachedHolidays holidays = CachedHolidays.found(HolidayYear.of(2025, List.of(new Holiday(LocalDate.of(2025, 1, 1), null, "New Year"))));
+        holidayCache.put(key, holidays);
+
+        assertThat(holidayCache.lookup(key)).isEqualTo(new HolidayCache.Lookup(holidays, HolidayCache.Freshness.FRESH));
+
+        advance(Duration.ofMinutes(61));
+        HolidayCache.Lookup stale = holidayCache.lookup(key);
+        assertThat(stale.holidays()).isEqualTo(holidays);
+        assertThat(stale.freshness()).isEqualTo(HolidayCache.Freshness.STALE);
+        assertThat(stale.needsRefresh()).isTrue();
+        assertThat(holidayCache.getStaleHitCount()).isEqualTo(1);
+
+        advance(Duration.ofHours(2));
+        assertThat(holidayCache.lookup(key)).isNull();
+    }
+
+    /**
+     * Test reloaded holidays are fresh again.
+     */
+    @Test
+    void testLookup_FreshAgainAfterPut() {
+        HolidayKey key = new HolidayKey(2025, "US");
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+        advance(Duration.ofMinutes(90));
+
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+
+        assertThat(holidayCache.lookup(key).freshness()).isEqualTo(HolidayCache.Freshness.FRESH);
+    }
+
+    /**
+     * Test only frequently read holidays ask for a refresh before their ttl expires.
+     */
+    @Test
+    void testLookup_RefreshesAheadFrequentlyReadHolidays() {
+        HolidayKey hot = new HolidayKey(2025, "US");
+        HolidayKey cold = new HolidayKey(2025, "BR");
+        holidayCache.put(hot, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+        holidayCache.put(cold, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+        holidayCache.lookup(hot);
+        holidayCache.lookup(hot);
+
+        assertThat(holidayCache.lookup(hot).freshness()).isEqualTo(HolidayCache.Freshness.FRESH);
+
+        advance(Duration.ofMinutes(51));
+        assertThat(holidayCache.lookup(hot).freshness()).isEqualTo(HolidayCache.Freshness.REFRESH_AHEAD);
+        assertThat(holidayCache.lookup(cold).freshness()).isEqualTo(HolidayCache.Freshness.FRESH);
+        assertThat(holidayCache.getRefreshAheadHitCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test not found answers are never served stale.
+     */
+    @Test
+    void testLookup_NotFoundIsNeverStale() {
+        HolidayKey key = new HolidayKey(2025, "XYZ");
+        holidayCache.put(key, CachedHolidays.notFound());
+
+        assertThat(holidayCache.lookup(key).freshness()).isEqualTo(HolidayCache.Freshness.FRESH);
+
+        advance(Duration.ofMinutes(2));
+        assertThat(holidayCache.lookup(key)).isNull();
+    }
+
+    /**
+     * Test change listeners hear about new and changed holidays, but not about the same holidays cached again.
+     */
+    @Test
+    void testPut_NotifiesChangeListeners() {
+        List<HolidayKey> changed = new ArrayList<>();
+        holidayCache.addChangeListener(changed::add);
+        HolidayKey key = new HolidayKey(2025, "US");
+
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+        assertThat(changed).containsExactly(key);
+
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of(new Holiday(LocalDate.of(2025, 1, 1), null, "New Year")))));
+        assertThat(changed).containsExactly(key, key);
+    }
+
+    /**
+     * Test hits and misses are counted.
+     */
+    @Test
+    void testStats_CountsHitsAndMisses() {
+        HolidayKey key = new HolidayKey(2025, "US");
+        holidayCache.getIfPresent(key);
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+        holidayCache.getIfPresent(key);
+        holidayCache.getIfPresent(key);
+
+        assertThat(holidayCache.stats().hitCount()).isEqualTo(2);
+        assertThat(holidayCache.stats().missCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test peeking at the cache counts neither hits nor misses.
+     */
+    @Test
+    void testPeek_DoesNotCountHitsOrMisses() {
+        HolidayKey key = new HolidayKey(2025, "US");
+        assertThat(holidayCache.peek(key)).isNull();
+        holidayCache.put(key, CachedHolidays.found(HolidayYear.of(2025, List.of())));
+        assertThat(holidayCache.peek(key)).isNotNull();
+
+        assertThat(holidayCache.stats().hitCount()).isZero();
+        assertThat(holidayCache.stats().missCount()).isZero();
+    }
+
+    private void advance(Duration duration) {
+        nanos.addAndGet(duration.toNanos());
+    }
+}
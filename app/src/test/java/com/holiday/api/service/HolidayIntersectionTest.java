@@ -0,0 +1,78 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayYear;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Holiday intersection test.
+ */
+class HolidayIntersectionTest {
+
+    /**
+     * Test only days that are a holiday in every country are returned, with each country's local name.
+     */
+    @Test
+    void testCommonHolidays_ReturnsDaysSharedByAllCountries() {
+        HolidayYear us = year(2024, "2024-01-01", "New Year's Day", "2024-07-04", "Independence Day",
+                "2024-12-25", "Christmas Day", "2024-12-31", "New Year's Eve");
+        HolidayYear nl = year(2024, "2024-12-31", "Oudejaarsdag", "2024-01-01", "Nieuwjaarsdag",
+                "2024-12-25", "Eerste Kerstdag");
+        HolidayYear de = year(2024, "2024-01-01", "Neujahr", "2024-12-25", "Weihnachtstag", "2024-12-31", "Silvester");
+
+        List<Holiday> common = HolidayIntersection.commonHolidays(List.of("US", "NL", "DE"), List.of(us, nl, de));
+
+        assertThat(common).extracting(Holiday::getDate)
+                .containsExactly(LocalDate.of(2024, 1, 1), LocalDate.of(2024, 12, 25), LocalDate.of(2024, 12, 31));
+        assertThat(common.get(2).getLocalNames())
+                .containsEntry("US", "New Year's Eve")
+                .containsEntry("NL", "Oudejaarsdag")
+                .containsEntry("DE", "Silvester");
+    }
+
+    /**
+     * Test no holidays are returned once the intersection is empty, whatever the remaining countries hold.
+     */
+    @Test
+    void testCommonHolidays_EmptyWhenNoDayIsShared() {
+        HolidayYear us = year(2025, "2025-07-04", "Independence Day");
+        HolidayYear br = year(2025, "2025-09-07", "Independência do Brasil");
+        HolidayYear nl = year(2025, "2025-07-04", "Not a holiday");
+
+        assertThat(HolidayIntersection.commonHolidays(List.of("US", "BR", "NL"), List.of(us, br, nl))).isEmpty();
+    }
+
+    /**
+     * Test a single country returns each of its holiday days once.
+     */
+    @Test
+    void testCommonHolidays_SingleCountry() {
+        HolidayYear us = year(2025, "2025-01-01", "New Year's Day", "2025-01-01", "Regional New Year");
+
+        List<Holiday> common = HolidayIntersection.commonHolidays(List.of("US"), List.of(us));
+
+        assertThat(common).hasSize(1);
+        assertThat(common.get(0).getLocalNames()).containsEntry("US", "New Year's Day");
+    }
+
+    /**
+     * Test no countries have no common holidays.
+     */
+    @Test
+    void testCommonHolidays_NoCountries() {
+        assertThat(HolidayIntersection.commonHolidays(List.of(), List.of())).isEmpty();
+    }
+
+    private static HolidayYear year(int year, String... datesAndNames) {
+        HolidayYear.Builder builder = HolidayYear.builder(year);
+        for (int i = 0; i < datesAndNames.length; i += 2) {
+            builder.add(LocalDate.parse(datesAndNames[i]).toEpochDay(), datesAndNames[i + 1]);
+        }
+        return builder.build();
+    }
+}
@@ -0,0 +1,95 @@
+package com.holiday.api.service;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Holiday metrics test.
+ */
+class HolidayMetricsTest {
+
+    private SimpleMeterRegistry registry;
+    private HolidayMetrics metrics;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        registry = new SimpleMeterRegistry();
+        metrics = new HolidayMetrics(registry);
+    }
+
+    /**
+     * Test upstream calls are timed per status, unexpected statuses sharing one tag.
+     */
+    @Test
+    void testRecordUpstreamCall_TagsByStatus() {
+        metrics.recordUpstreamCall(200, TimeUnit.MILLISECONDS.toNanos(40));
+        metrics.recordUpstreamCall(200, TimeUnit.MILLISECONDS.toNanos(60));
+        metrics.recordUpstreamCall(404, TimeUnit.MILLISECONDS.toNanos(30));
+        metrics.recordUpstreamCall(400, TimeUnit.MILLISECONDS.toNanos(20));
+        metrics.recordUpstreamCall(500, TimeUnit.MILLISECONDS.toNanos(10));
+        metrics.recordUpstreamCall(503, TimeUnit.MILLISECONDS.toNanos(10));
+
+        assertThat(upstreamCalls("200")).isEqualTo(2);
+        assertThat(registry.get(HolidayMetrics.UPSTREAM_REQUESTS).tag("status", "200").timer()
+                .totalTime(TimeUnit.MILLISECONDS)).isEqualTo(100);
+        assertThat(upstreamCalls("404")).isEqualTo(1);
+        assertThat(upstreamCalls("400")).isEqualTo(1);
+        assertThat(upstreamCalls("other")).isEqualTo(2);
+        assertThat(upstreamCalls("error")).isZero();
+    }
+
+    /**
+     * Test upstream calls failing without a response are tagged as errors.
+     */
+    @Test
+    void testRecordUpstreamFailure_TagsAsError() {
+        metrics.recordUpstreamFailure(TimeUnit.SECONDS.toNanos(10));
+
+        assertThat(upstreamCalls("error")).isEqualTo(1);
+        assertThat(registry.get(HolidayMetrics.UPSTREAM_REQUESTS).tag("status", "error").timer()
+                .max(TimeUnit.SECONDS)).isEqualTo(10);
+    }
+
+    /**
+     * Test parsing records both the time taken and the payload size.
+     */
+    @Test
+    void testRecordParse_RecordsTimeAndPayloadSize() {
+        metrics.recordParse(2048, TimeUnit.MICROSECONDS.toNanos(150));
+        metrics.recordParse(1024, TimeUnit.MICROSECONDS.toNanos(50));
+
+        assertThat(registry.get(HolidayMetrics.UPSTREAM_PARSE).timer().totalTime(TimeUnit.MICROSECONDS))
+                .isEqualTo(200);
+        assertThat(registry.get(HolidayMetrics.UPSTREAM_PAYLOAD).summary().totalAmount()).isEqualTo(3072);
+        assertThat(registry.get(HolidayMetrics.UPSTREAM_PAYLOAD).summary().count()).isEqualTo(2);
+    }
+
+    /**
+     * Test fan-out is recorded per endpoint.
+     */
+    @Test
+    void testRecordFanOut_TagsByEndpoint() {
+        metrics.recordFanOut("count", 5, 2);
+        metrics.recordFanOut("count", 5, 0);
+        metrics.recordFanOut("common", 3, 3);
+
+        assertThat(registry.get(HolidayMetrics.FAN_OUT_LOOKUPS).tag("endpoint", "count").summary().totalAmount())
+                .isEqualTo(10);
+        assertThat(registry.get(HolidayMetrics.FAN_OUT_UPSTREAM_REQUESTS).tag("endpoint", "count").summary()
+                .totalAmount()).isEqualTo(2);
+        assertThat(registry.get(HolidayMetrics.FAN_OUT_UPSTREAM_REQUESTS).tag("endpoint", "common").summary()
+                .max()).isEqualTo(3);
+    }
+
+    private long upstreamCalls(String status) {
+        return registry.get(HolidayMetrics.UPSTREAM_REQUESTS).tag("status", status).timer().count();
+    }
+}
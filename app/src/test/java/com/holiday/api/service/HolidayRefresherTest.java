@@ -0,0 +1,78 @@
+package com.holiday.api.service;
+
+import com.holiday.api.domain.HolidayKey;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Holiday refresher test.
+ */
+class HolidayRefresherTest {
+
+    private static final HolidayKey KEY = new HolidayKey(2025, "US");
+
+    private final List<Runnable> submitted = new ArrayList<>();
+    private final AtomicInteger reloads = new AtomicInteger();
+
+    /**
+     * Test a key is only reloaded once while its reload is running.
+     */
+    @Test
+    void testRefresh_ReloadsKeyOnceWhileInFlight() {
+        HolidayRefresher refresher = new HolidayRefresher(submitted::add);
+
+        refresher.refresh(KEY, reloads::incrementAndGet);
+        refresher.refresh(KEY, reloads::incrementAndGet);
+        assertThat(submitted).hasSize(1);
+        assertThat(refresher.getInFlightCount()).isEqualTo(1);
+
+        submitted.get(0).run();
+        refresher.refresh(KEY, reloads::incrementAndGet);
+
+        assertThat(submitted).hasSize(2);
+        assertThat(reloads).hasValue(1);
+        assertThat(refresher.getSucceededCount()).isEqualTo(1);
+    }
+
+    /**
+     * Test a reload rejected by a busy executor is skipped and can be asked for again.
+     */
+    @Test
+    void testRefresh_SkipsReload_WhenExecutorIsBusy() {
+        Executor busy = command -> {
+            throw new RejectedExecutionException("busy");
+        };
+        HolidayRefresher refresher = new HolidayRefresher(busy);
+
+        refresher.refresh(KEY, reloads::incrementAndGet);
+        refresher.refresh(KEY, reloads::incrementAndGet);
+
+        assertThat(reloads).hasValue(0);
+        assertThat(refresher.getSkippedCount()).isEqualTo(2);
+        assertThat(refresher.getInFlightCount()).isZero();
+    }
+
+    /**
+     * Test a failed reload is counted and does not block later reloads.
+     */
+    @Test
+    void testRefresh_CountsFailures() {
+        HolidayRefresher refresher = new HolidayRefresher(Runnable::run);
+
+        refresher.refresh(KEY, () -> {
+            throw new IllegalStateException("Upstream unavailable");
+        });
+        refresher.refresh(KEY, reloads::incrementAndGet);
+
+        assertThat(refresher.getFailedCount()).isEqualTo(1);
+        assertThat(refresher.getSucceededCount()).isEqualTo(1);
+        assertThat(reloads).hasValue(1);
+    }
+}
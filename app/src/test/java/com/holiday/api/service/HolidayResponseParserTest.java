@@ -0,0 +1,75 @@
+package com.holiday.api.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayYear;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The type Holiday response parser test.
+ */
+class HolidayResponseParserTest {
+
+    private final HolidayResponseParser parser = new HolidayResponseParser(new ObjectMapper());
+
+    /**
+     * Test parse reads date and local name and skips the other upstream fields.
+     */
+    @Test
+    void testParse_ReadsDateAndLocalName() {
+        String body = """
+                [
+                  {"date":"2025-01-01","localName":"New Year's Day","name":"New Year's Day","countryCode":"US",
+                   "fixed":false,"global":true,"counties":null,"launchYear":null,"types":["Public"]},
+                  {"date":"2025-02-17","localName":"Washington's Birthday","name":"Presidents Day","countryCode":"US",
+                   "fixed":false,"global":true,"counties":["US-CA","US-NY"],"launchYear":null,"types":["Public"]}
+                ]
+                """;
+
+        List<Holiday> holidays = parser.parse(2025, body.getBytes(StandardCharsets.UTF_8)).toHolidays();
+
+        assertThat(holidays).extracting(Holiday::getDate)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 2, 17));
+        assertThat(holidays).extracting(Holiday::getLocalName)
+                .containsExactly("New Year's Day", "Washington's Birthday");
+        assertThat(holidays).extracting(Holiday::getLocalNames).containsOnlyNulls();
+    }
+
+    /**
+     * Test parse skips holidays without a date.
+     */
+    @Test
+    void testParse_SkipsHolidaysWithoutDate() {
+        String body = "[{\"date\":null,\"localName\":\"Unknown\"},{\"date\":\"2025-12-25\",\"localName\":\"Christmas Day\"}]";
+
+        HolidayYear holidays = parser.parse(2025, body.getBytes(StandardCharsets.UTF_8));
+
+        assertThat(holidays.size()).isEqualTo(1);
+        assertThat(holidays.isHoliday(LocalDate.of(2025, 12, 25))).isTrue();
+    }
+
+    /**
+     * Test parse returns no holidays for an empty array.
+     */
+    @Test
+    void testParse_EmptyArray() {
+        assertThat(parser.parse(2025, "[]".getBytes(StandardCharsets.UTF_8)).isEmpty()).isTrue();
+    }
+
+    /**
+     * Test parse fails on a body that is not a holiday array.
+     */
+    @Test
+    void testParse_ThrowsOnUnexpectedBody() {
+        assertThatThrownBy(() -> parser.parse(2025, "{\"title\":\"Not Found\"}".getBytes(StandardCharsets.UTF_8)))
+                .isInstanceOf(RuntimeException.class)
+                .hasMessageContaining("Error parsing API response");
+    }
+}
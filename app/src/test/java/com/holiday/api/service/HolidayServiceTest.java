@@ -2,8 +2,23 @@ package com.holiday.api.service;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.holiday.api.config.HolidayCacheProperties;
+import com.holiday.api.config.UpstreamClientProperties;
+import com.holiday.api.config.UpstreamResilienceProperties;
+import com.holiday.api.domain.BusinessDays;
+import com.holiday.api.domain.CountryStatus;
+import com.holiday.api.domain.FanOutResult;
 import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayCount;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.exception.UpstreamTimeoutException;
+import com.holiday.api.exception.UpstreamUnavailableException;
+import com.holiday.api.request.BusinessDayRequest;
 import com.holiday.api.request.CountryRequest;
+import com.holiday.api.request.HolidayCheckRequest;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -11,22 +26,47 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.web.client.HttpClientErrorException;
 
+import java.io.IOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.Comparator;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.any;
 import static org.mockito.Mockito.anyInt;
 import static org.mockito.Mockito.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 /**
  * The type Holiday service test.
@@ -42,6 +82,15 @@ class HolidayServiceTest {
     );
     @Mock
     private ObjectMapper objectMapper;
+    @Mock
+    private HolidayCache holidayCache;
+    @Mock
+    private HolidayStore holidayStore;
+    @Mock
+    private HttpClient httpClient;
+    @Mock
+    private HolidayRefresher holidayRefresher;
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
     @InjectMocks
     private HolidayService holidayService;
 
@@ -52,6 +101,13 @@ class HolidayServiceTest {
     void setUp() {
         objectMapper = new ObjectMapper();
         objectMapper.registerModule(new JavaTimeModule());
+        ReflectionTestUtils.setField(holidayService, "upstreamExecutor", (Executor) Runnable::run);
+        ReflectionTestUtils.setField(holidayService, "upstreamFetches", new SingleFlight<HolidayKey, CachedHolidays>());
+        ReflectionTestUtils.setField(holidayService, "holidayMetrics", new HolidayMetrics(meterRegistry));
+        UpstreamResilienceProperties resilienceProperties = new UpstreamResilienceProperties();
+        resilienceProperties.setInitialBackoff(Duration.ofMillis(1));
+        ReflectionTestUtils.setField(holidayService, "upstreamCallPolicy",
+                new UpstreamCallPolicy(resilienceProperties, Ticker.systemTicker()));
     }
 
     /**
@@ -60,13 +116,37 @@ class HolidayServiceTest {
     @Test
     void testGetPastHolidays_ReturnsLastThreeHolidays() {
         HolidayService spyService = spy(holidayService);
-        doReturn(sampleHolidays).when(spyService).fetchHolidays(anyInt(), anyString());
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), holidaysIn(invocation.getArgument(0))))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+        LocalDate today = LocalDate.now();
+        List<LocalDate> expected = Stream.of(today.getYear(), today.getYear() - 1, today.getYear() - 2)
+                .flatMap(year -> holidaysIn(year).stream())
+                .map(Holiday::getDate)
+                .filter(date -> date.isBefore(today))
+                .sorted(Comparator.reverseOrder())
+                .limit(3)
+                .toList();
 
         List<Holiday> pastHolidays = spyService.getPastHolidays("US");
 
-        assertThat(pastHolidays).hasSize(3);
-        assertThat(pastHolidays.get(0).getDate()).isEqualTo(LocalDate.of(
-                2025, 1, 1));
+        assertThat(pastHolidays).extracting(Holiday::getDate).containsExactlyElementsOf(expected);
+    }
+
+    /**
+     * Test get past holidays stops fetching once enough past holidays are known.
+     */
+    @Test
+    void testGetPastHolidays_StopsFetchingOlderYears() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), holidaysIn(invocation.getArgument(0))))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+        int currentYear = LocalDate.now().getYear();
+
+        spyService.getPastHolidays("US");
+
+        verify(spyService).fetchHolidayYear(currentYear, "US");
+        verify(spyService).fetchHolidayYear(currentYear - 1, "US");
+        verify(spyService, never()).fetchHolidayYear(eq(currentYear - 3), anyString());
     }
 
     /**
@@ -75,15 +155,78 @@ class HolidayServiceTest {
     @Test
     void testGetHolidaysCount_CorrectCountPerCountry() {
         HolidayService spyService = spy(holidayService);
-        doReturn(sampleHolidays).when(spyService).fetchHolidays(anyInt(), anyString());
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(anyInt(), anyString());
 
         Map<String, Long> holidayCount = spyService.getHolidaysCount(
-                new CountryRequest(2025, List.of("US", "BR")));
+                new CountryRequest(2025, List.of("US", "BR")), Deadline.none()).join().getResults();
 
         assertThat(holidayCount).containsEntry("US", 2L);
         assertThat(holidayCount).containsEntry("BR", 2L);
     }
 
+    /**
+     * Test streaming the holidays count hands one count per distinct country to the consumer.
+     */
+    @Test
+    void testStreamHolidaysCount_StreamsOneCountPerCountry() {
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(anyInt(), anyString());
+        List<HolidayCount> counts = new ArrayList<>();
+
+        spyService.streamHolidaysCount(new CountryRequest(2025, List.of("US", "BR", "US")), counts::add);
+
+        assertThat(counts).containsExactlyInAnyOrder(new HolidayCount(2025, "US", 2L), new HolidayCount(2025, "BR", 2L));
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_LOOKUPS).tag("endpoint", "count").summary()
+                .totalAmount()).isEqualTo(2);
+    }
+
+    /**
+     * Test get holidays count by year counts every country in every year of the range.
+     */
+    @Test
+    void testGetHolidaysCountByYear_CountsEveryYearAndCountry() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), invocation.getArgument(0, Integer.class) == 2024
+                ? sampleHolidays.subList(0, 1) : sampleHolidays))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+
+        Map<Integer, Map<String, Long>> countByYear = spyService.getHolidaysCountByYear(
+                new CountryRequest(0, 2023, 2025, List.of("US", "BR")), Deadline.none()).join().getResults();
+
+        assertThat(countByYear.keySet()).containsExactly(2023, 2024, 2025);
+        assertThat(countByYear.get(2024)).containsEntry("US", 1L).containsEntry("BR", 1L);
+        assertThat(countByYear.get(2025)).containsEntry("US", 2L).containsEntry("BR", 2L);
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_LOOKUPS).tag("endpoint", "count").summary()
+                .totalAmount()).isEqualTo(6);
+    }
+
+    /**
+     * Test streaming the holidays count rethrows the failure of a country.
+     */
+    @Test
+    void testStreamHolidaysCount_ThrowsFailureOfCountry() {
+        HolidayService spyService = spy(holidayService);
+        doThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND)).when(spyService).fetchHolidayYear(anyInt(), anyString());
+
+        assertThatThrownBy(() -> spyService.streamHolidaysCount(new CountryRequest(2025, List.of("XX")), count -> {
+        })).isInstanceOf(HttpClientErrorException.class);
+    }
+
+    /**
+     * Test the version of several countries' holidays changes when the holidays of any of them do.
+     */
+    @Test
+    void testGetHolidaysVersion_ChangesWithAnyCountry() {
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(anyInt(), anyString());
+        long version = spyService.getHolidaysVersion(2025, List.of("US", "BR")).join();
+
+        assertThat(spyService.getHolidaysVersion(2025, List.of("US", "BR")).join()).isEqualTo(version);
+
+        doReturn(HolidayYear.of(2025, sampleHolidays.subList(0, 1))).when(spyService).fetchHolidayYear(2025, "BR");
+        assertThat(spyService.getHolidaysVersion(2025, List.of("US", "BR")).join()).isNotEqualTo(version);
+    }
+
     /**
      * Test get common holidays returns common holidays.
      */
@@ -100,11 +243,11 @@ class HolidayServiceTest {
                         "BR", "Natal"), "Natal")
         );
 
-        doReturn(usHolidays).when(spyService).fetchHolidays(2025, "US");
-        doReturn(brHolidays).when(spyService).fetchHolidays(2025, "BR");
+        doReturn(HolidayYear.of(2025, usHolidays)).when(spyService).fetchHolidayYear(2025, "US");
+        doReturn(HolidayYear.of(2025, brHolidays)).when(spyService).fetchHolidayYear(2025, "BR");
 
         List<Holiday> commonHolidays = spyService.getCommonHolidays(
-                new CountryRequest(2025, List.of("US", "BR")));
+                new CountryRequest(2025, List.of("US", "BR")), Deadline.none()).join().getResults();
 
         assertThat(commonHolidays).hasSize(1);
         assertThat(commonHolidays.get(0).getLocalNames())
@@ -112,14 +255,337 @@ class HolidayServiceTest {
                 .containsEntry("BR", "Natal");
     }
 
+    /**
+     * Test streaming common holidays hands each one to the consumer with the local name of every country.
+     */
+    @Test
+    void testStreamCommonHolidays_StreamsCommonHolidays() {
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, List.of(
+                new Holiday(LocalDate.of(2025, 1, 1), Map.of("US", "New Year's Day"), "New Year's Day"),
+                new Holiday(LocalDate.of(2025, 12, 25), Map.of("US", "Christmas Day"), "Christmas Day"))))
+                .when(spyService).fetchHolidayYear(2025, "US");
+        doReturn(HolidayYear.of(2025, List.of(
+                new Holiday(LocalDate.of(2025, 12, 25), Map.of("BR", "Natal"), "Natal"))))
+                .when(spyService).fetchHolidayYear(2025, "BR");
+        List<Holiday> commonHolidays = new ArrayList<>();
+
+        spyService.streamCommonHolidays(new CountryRequest(2025, List.of("US", "BR")), commonHolidays::add);
+
+        assertThat(commonHolidays).hasSize(1);
+        assertThat(commonHolidays.get(0).getLocalNames())
+                .containsEntry("US", "Christmas Day")
+                .containsEntry("BR", "Natal");
+    }
+
+    /**
+     * Test get common holidays by year intersects the countries separately in every year of the range.
+     */
+    @Test
+    void testGetCommonHolidaysByYear_IntersectsEachYear() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), List.of(new Holiday(
+                LocalDate.of(invocation.getArgument(0), 12, 25), Map.of("US", "Christmas Day"), "Christmas Day"))))
+                .when(spyService).fetchHolidayYear(anyInt(), eq("US"));
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), List.of(new Holiday(
+                LocalDate.of(invocation.getArgument(0), 12, 25), Map.of("BR", "Natal"), "Natal"))))
+                .when(spyService).fetchHolidayYear(anyInt(), eq("BR"));
+        doReturn(HolidayYear.of(2025, Collections.emptyList())).when(spyService).fetchHolidayYear(2025, "BR");
+
+        Map<Integer, List<Holiday>> commonHolidaysByYear = spyService.getCommonHolidaysByYear(
+                new CountryRequest(0, 2024, 2025, List.of("US", "BR")), Deadline.none()).join().getResults();
+
+        assertThat(commonHolidaysByYear.keySet()).containsExactly(2024, 2025);
+        assertThat(commonHolidaysByYear.get(2024)).extracting(Holiday::getDate).containsExactly(LocalDate.of(2024, 12, 25));
+        assertThat(commonHolidaysByYear.get(2025)).isEmpty();
+    }
+
+    /**
+     * Test get holidays returns the full holidays of each country, in request order.
+     */
+    @Test
+    void testGetHolidays_ReturnsHolidaysOfEachCountry() {
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(2025, "BR");
+        doReturn(HolidayYear.of(2025, sampleHolidays.subList(0, 1))).when(spyService).fetchHolidayYear(2025, "US");
+
+        Map<String, List<Holiday>> holidays = spyService.getHolidays(
+                new CountryRequest(2025, List.of("BR", "US")), Deadline.none()).join().getResults();
+
+        assertThat(holidays.keySet()).containsExactly("BR", "US");
+        assertThat(holidays.get("BR")).extracting(Holiday::getDate)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 25));
+        assertThat(holidays.get("US")).extracting(Holiday::getDate).containsExactly(LocalDate.of(2025, 12, 25));
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_LOOKUPS).tag("endpoint", "bulk").summary()
+                .totalAmount()).isEqualTo(2);
+    }
+
+    /**
+     * Test get holidays by year returns the holidays of each country in every year of the range.
+     */
+    @Test
+    void testGetHolidaysByYear_ReturnsHolidaysOfEachYearAndCountry() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), holidaysIn(invocation.getArgument(0))))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+
+        Map<Integer, Map<String, List<Holiday>>> holidaysByYear = spyService.getHolidaysByYear(
+                new CountryRequest(0, 2023, 2024, List.of("CA", "US")), Deadline.none()).join().getResults();
+
+        assertThat(holidaysByYear.keySet()).containsExactly(2023, 2024);
+        assertThat(holidaysByYear.get(2023).keySet()).containsExactly("CA", "US");
+        assertThat(holidaysByYear.get(2024).get("CA")).hasSize(3)
+                .allSatisfy(holiday -> assertThat(holiday.getDate().getYear()).isEqualTo(2024));
+    }
+
+    /**
+     * Test check holidays answers every date in every country, fetching each year of each country once.
+     */
+    @Test
+    void testCheckHolidays_AnswersEveryDateAndCountry() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), holidaysIn(invocation.getArgument(0))))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+        LocalDate holiday = holidaysIn(2024).get(0).getDate();
+        LocalDate workday = holiday.plusDays(1);
+        LocalDate nextYearHoliday = holidaysIn(2025).get(0).getDate();
+
+        Map<LocalDate, Map<String, Boolean>> checks = spyService.checkHolidays(
+                new HolidayCheckRequest(List.of(workday, holiday, nextYearHoliday), List.of("CA", "US")), Deadline.none())
+                .join().getResults();
+
+        assertThat(checks.keySet()).containsExactly(workday, holiday, nextYearHoliday);
+        assertThat(checks.get(holiday)).containsExactly(Map.entry("CA", true), Map.entry("US", true));
+        assertThat(checks.get(workday)).containsExactly(Map.entry("CA", false), Map.entry("US", false));
+        assertThat(checks.get(nextYearHoliday)).containsEntry("US", true);
+        verify(spyService).fetchHolidayYear(2024, "US");
+        verify(spyService).fetchHolidayYear(2025, "US");
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_LOOKUPS).tag("endpoint", "check").summary()
+                .totalAmount()).isEqualTo(4);
+    }
+
+    /**
+     * Test business days are counted over every year between the dates, in the union of the countries' holidays.
+     */
+    @Test
+    void testCountBusinessDays_CountsAcrossYears() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), holidaysIn(invocation.getArgument(0))))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+
+        BusinessDays businessDays = spyService.countBusinessDays(new BusinessDayRequest(
+                LocalDate.of(2024, 12, 24), LocalDate.of(2025, 1, 3), null, List.of("CA", "US")), Deadline.none())
+                .join().getResults();
+
+        // 26, 27, 30 and 31 December and 2 and 3 January
+        assertThat(businessDays.getBusinessDays()).isEqualTo(6);
+        verify(spyService).fetchHolidayYear(2024, "CA");
+        verify(spyService).fetchHolidayYear(2025, "US");
+    }
+
+    /**
+     * Test adding business days fetches the years the result can fall in up front, in a single fan-out.
+     */
+    @Test
+    void testAddBusinessDays_FetchesYearsTheResultCanFallIn() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), holidaysIn(invocation.getArgument(0))))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+
+        BusinessDays businessDays = spyService.addBusinessDays(new BusinessDayRequest(
+                LocalDate.of(2024, 12, 24), null, 5L, List.of("US")), Deadline.none()).join().getResults();
+
+        assertThat(businessDays.getToDate()).isEqualTo(LocalDate.of(2025, 1, 2));
+        verify(spyService).fetchHolidayYear(2024, "US");
+        verify(spyService).fetchHolidayYear(2025, "US");
+        verify(spyService, times(2)).fetchHolidayYear(anyInt(), anyString());
+    }
+
+    /**
+     * Test business days are not computed without the holidays of one of the countries.
+     */
+    @Test
+    void testCountBusinessDays_Throws_WhenCountryFails() {
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(2025, "US");
+        doThrow(new UpstreamUnavailableException("Upstream is unavailable")).when(spyService).fetchHolidayYear(2025, "BR");
+
+        assertThatThrownBy(() -> spyService.countBusinessDays(new BusinessDayRequest(
+                LocalDate.of(2025, 1, 1), LocalDate.of(2025, 3, 1), null, List.of("BR", "US")), Deadline.none()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(UpstreamUnavailableException.class);
+    }
+
+    /**
+     * Test get common holidays records its fan-out and the upstream calls made for uncached countries.
+     */
+    @Test
+    @SuppressWarnings("unchecked")
+    void testGetCommonHolidays_RecordsFanOutAndUpstreamCalls() throws Exception {
+        useUpstream();
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(200);
+        when(response.body()).thenReturn("[{\"date\":\"2025-12-25\",\"localName\":\"Christmas Day\"}]"
+                .getBytes(StandardCharsets.UTF_8));
+        doReturn(response).when(httpClient).send(any(), any());
+        when(holidayCache.lookup(new HolidayKey(2025, "US")))
+                .thenReturn(fresh(CachedHolidays.found(HolidayYear.of(2025, sampleHolidays))));
+
+        holidayService.getCommonHolidays(new CountryRequest(2025, List.of("US", "BR", "DE")), Deadline.none()).join();
+
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_LOOKUPS).tag("endpoint", "common").summary()
+                .totalAmount()).isEqualTo(3);
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_UPSTREAM_REQUESTS).tag("endpoint", "common").summary()
+                .totalAmount()).isEqualTo(2);
+        assertThat(meterRegistry.get(HolidayMetrics.UPSTREAM_REQUESTS).tag("status", "200").timer().count())
+                .isEqualTo(2);
+        assertThat(meterRegistry.get(HolidayMetrics.UPSTREAM_PAYLOAD).summary().count()).isEqualTo(2);
+    }
+
+    /**
+     * Test a country that fails is reported in the country status and left out of a partial result.
+     */
+    @Test
+    void testGetHolidaysCount_ReturnsPartialResult_WhenCountryFails() {
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(2025, "US");
+        doThrow(new UpstreamUnavailableException("Upstream is unavailable")).when(spyService).fetchHolidayYear(2025, "BR");
+
+        FanOutResult<Map<String, Long>> result = spyService.getHolidaysCount(
+                new CountryRequest(2025, List.of("US", "BR")), Deadline.none()).join();
+
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getResults()).containsExactly(Map.entry("US", 2L));
+        assertThat(result.getCountryStatus()).containsEntry("US", CountryStatus.OK).containsEntry("BR", CountryStatus.FAILED);
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_INCOMPLETE).tag("endpoint", "count").tag("status", "FAILED")
+                .counter().count()).isEqualTo(1);
+    }
+
+    /**
+     * Test a country still being fetched when the deadline passes is reported as timed out, without waiting for it,
+     * and leaves no holiday common rather than intersecting the others only.
+     */
+    @Test
+    void testGetCommonHolidays_ReturnsPartialResult_WhenDeadlinePasses() throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(3);
+        ReflectionTestUtils.setField(holidayService, "upstreamExecutor", executor);
+        try {
+            HolidayService spyService = spy(holidayService);
+            doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(eq(2025), eq("US"));
+            doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(eq(2025), eq("CA"));
+            doAnswer(invocation -> {
+                Thread.sleep(5_000);
+                return HolidayYear.of(2025, sampleHolidays);
+            }).when(spyService).fetchHolidayYear(eq(2025), eq("BR"));
+
+            long start = System.nanoTime();
+            FanOutResult<List<Holiday>> result = spyService.getCommonHolidays(
+                    new CountryRequest(2025, List.of("US", "CA", "BR")), Deadline.after(Duration.ofMillis(200))).join();
+
+            assertThat(Duration.ofNanos(System.nanoTime() - start)).isLessThan(Duration.ofSeconds(2));
+            assertThat(result.getCountryStatus()).containsEntry("BR", CountryStatus.TIMED_OUT);
+            assertThat(result.isPartial()).isTrue();
+            assertThat(result.getResults()).isEmpty();
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    /**
+     * Test a year in which one of two countries times out has no common holidays, rather than all holidays of the
+     * other country, while the other years are still intersected.
+     */
+    @Test
+    void testGetCommonHolidaysByYear_NoCommonHolidaysInYearWithTimedOutCountry() {
+        HolidayService spyService = spy(holidayService);
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), holidaysIn(invocation.getArgument(0))))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
+        doThrow(new UpstreamTimeoutException("Request deadline passed")).when(spyService).fetchHolidayYear(2025, "DE");
+
+        FanOutResult<Map<Integer, List<Holiday>>> result = spyService.getCommonHolidaysByYear(
+                new CountryRequest(0, 2024, 2025, List.of("DE", "US")), Deadline.none()).join();
+
+        assertThat(result.isPartial()).isTrue();
+        assertThat(result.getCountryStatus()).containsEntry("DE", CountryStatus.TIMED_OUT).containsEntry("US", CountryStatus.OK);
+        assertThat(result.getResults().get(2024)).hasSize(3);
+        assertThat(result.getResults().get(2025)).isEmpty();
+    }
+
+    /**
+     * Test a lookup the fan-out executor rejects is reported as failed instead of failing the request.
+     */
+    @Test
+    void testGetHolidaysCount_ReturnsPartialResult_WhenLookupIsRejected() {
+        AtomicInteger submitted = new AtomicInteger();
+        ReflectionTestUtils.setField(holidayService, "upstreamExecutor", (Executor) task -> {
+            if (submitted.getAndIncrement() > 0) {
+                throw new RejectedExecutionException("Queue full");
+            }
+            task.run();
+        });
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(2025, "US");
+
+        FanOutResult<Map<String, Long>> result = spyService.getHolidaysCount(
+                new CountryRequest(2025, List.of("US", "BR")), Deadline.none()).join();
+
+        assertThat(result.getResults()).containsExactly(Map.entry("US", 2L));
+        assertThat(result.getCountryStatus()).containsEntry("US", CountryStatus.OK).containsEntry("BR", CountryStatus.FAILED);
+        verify(spyService, never()).fetchHolidayYear(2025, "BR");
+    }
+
+    /**
+     * Test no lookup is submitted once the deadline has passed.
+     */
+    @Test
+    void testGetHolidaysCount_SubmitsNothing_WhenDeadlineHasPassed() {
+        HolidayService spyService = spy(holidayService);
+
+        assertThatThrownBy(() -> spyService.getHolidaysCount(
+                new CountryRequest(2025, List.of("US", "BR")), Deadline.after(Duration.ZERO)).join())
+                .hasCauseInstanceOf(UpstreamTimeoutException.class);
+        verify(spyService, never()).fetchHolidayYear(anyInt(), anyString());
+        assertThat(meterRegistry.get(HolidayMetrics.FAN_OUT_INCOMPLETE).tag("endpoint", "count").tag("status", "TIMED_OUT")
+                .counter().count()).isEqualTo(2);
+    }
+
+    /**
+     * Test a request fails when none of its countries could be fetched.
+     */
+    @Test
+    void testGetHolidaysCount_Throws_WhenEveryCountryFails() {
+        HolidayService spyService = spy(holidayService);
+        doThrow(new UpstreamTimeoutException("Upstream timed out")).when(spyService).fetchHolidayYear(anyInt(), anyString());
+
+        assertThatThrownBy(() -> spyService.getHolidaysCount(
+                new CountryRequest(2025, List.of("US", "BR")), Deadline.none()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(UpstreamTimeoutException.class);
+    }
+
+    /**
+     * Test a country rejected by upstream fails the request rather than being left out.
+     */
+    @Test
+    void testGetHolidaysCount_Throws_WhenCountryIsRejected() {
+        HolidayService spyService = spy(holidayService);
+        doReturn(HolidayYear.of(2025, sampleHolidays)).when(spyService).fetchHolidayYear(2025, "US");
+        doThrow(new HttpClientErrorException(HttpStatus.NOT_FOUND)).when(spyService).fetchHolidayYear(2025, "XX");
+
+        assertThatThrownBy(() -> spyService.getHolidaysCount(
+                new CountryRequest(2025, List.of("US", "XX")), Deadline.none()).join())
+                .isInstanceOf(CompletionException.class)
+                .hasCauseInstanceOf(HttpClientErrorException.class);
+    }
+
     /**
      * Test get past holidays returns empty list when no past holidays.
      */
     @Test
     void testGetPastHolidays_ReturnsEmptyList_WhenNoPastHolidays() {
         HolidayService spyService = spy(holidayService);
-        doReturn(Collections.emptyList()).when(spyService).fetchHolidays(
-                anyInt(), anyString());
+        doAnswer(invocation -> HolidayYear.of(invocation.getArgument(0), Collections.emptyList()))
+                .when(spyService).fetchHolidayYear(anyInt(), anyString());
 
         List<Holiday> pastHolidays = spyService.getPastHolidays("US");
 
@@ -140,11 +606,11 @@ class HolidayServiceTest {
                 2025, 7, 4), createHolidayMap(
                 "BR", "Independence Day")));
 
-        doReturn(usHolidays).when(spyService).fetchHolidays(2025, "US");
-        doReturn(brHolidays).when(spyService).fetchHolidays(2025, "BR");
+        doReturn(HolidayYear.of(2025, usHolidays)).when(spyService).fetchHolidayYear(2025, "US");
+        doReturn(HolidayYear.of(2025, brHolidays)).when(spyService).fetchHolidayYear(2025, "BR");
 
         List<Holiday> commonHolidays = spyService.getCommonHolidays(
-                new CountryRequest(2025, List.of("US", "BR")));
+                new CountryRequest(2025, List.of("US", "BR")), Deadline.none()).join().getResults();
 
         assertThat(commonHolidays).isEmpty();
     }
@@ -177,6 +643,191 @@ class HolidayServiceTest {
                 .hasMessageContaining("Unexpected error");
     }
 
+    /**
+     * Test fetch holidays is served from the cache without calling upstream.
+     */
+    @Test
+    void testFetchHolidays_ReturnsCachedHolidays() {
+        when(holidayCache.lookup(new HolidayKey(2025, "US")))
+                .thenReturn(fresh(CachedHolidays.found(HolidayYear.of(2025, sampleHolidays))));
+
+        assertThat(holidayService.fetchHolidays(2025, "US")).extracting(Holiday::getDate)
+                .containsExactly(LocalDate.of(2025, 1, 1), LocalDate.of(2025, 12, 25));
+    }
+
+    /**
+     * Test stale cached holidays are served right away and reloaded in the background.
+     */
+    @Test
+    void testFetchHolidays_ServesStaleHolidaysAndRefreshes() {
+        HolidayKey key = new HolidayKey(2025, "US");
+        HolidayYear stale = HolidayYear.of(2025, sampleHolidays);
+        when(holidayCache.lookup(key))
+                .thenReturn(new HolidayCache.Lookup(CachedHolidays.found(stale), HolidayCache.Freshness.STALE));
+
+        assertThat(holidayService.fetchHolidayYear(2025, "US")).isEqualTo(stale);
+        verify(holidayRefresher).refresh(eq(key), any());
+        verify(holidayStore, never()).find(any());
+    }
+
+    /**
+     * Test fresh cached holidays are not reloaded.
+     */
+    @Test
+    void testFetchHolidays_DoesNotRefreshFreshHolidays() {
+        when(holidayCache.lookup(new HolidayKey(2025, "US")))
+                .thenReturn(fresh(CachedHolidays.found(HolidayYear.of(2025, sampleHolidays))));
+
+        holidayService.fetchHolidayYear(2025, "US");
+
+        verify(holidayRefresher, never()).refresh(any(), any());
+    }
+
+    /**
+     * Test a cache miss is served by holidays cached by a load that finished meanwhile, without loading them again.
+     */
+    @Test
+    void testFetchHolidays_DoesNotLoadAgain_WhenCachedMeanwhile() {
+        HolidayYear cached = HolidayYear.of(2025, sampleHolidays);
+        when(holidayCache.peek(new HolidayKey(2025, "US"))).thenReturn(CachedHolidays.found(cached));
+
+        assertThat(holidayService.fetchHolidayYear(2025, "US")).isEqualTo(cached);
+        verify(holidayStore, never()).find(any());
+        verify(holidayCache, never()).put(any(), any());
+    }
+
+    /**
+     * Test a load after a cache miss counts the miss once.
+     */
+    @Test
+    void testFetchHolidays_CountsOneMissPerLoad() {
+        HolidayCache realCache = new HolidayCache(new HolidayCacheProperties(), Ticker.systemTicker());
+        ReflectionTestUtils.setField(holidayService, "holidayCache", realCache);
+        HolidayKey key = new HolidayKey(2020, "US");
+        when(holidayStore.find(key)).thenReturn(Optional.of(HolidayYear.of(2020, holidaysIn(2020))));
+
+        holidayService.fetchHolidayYear(2020, "US");
+        holidayService.fetchHolidayYear(2020, "US");
+
+        assertThat(realCache.stats().missCount()).isEqualTo(1);
+        assertThat(realCache.stats().hitCount()).isEqualTo(1);
+        verify(holidayStore).find(key);
+    }
+
+    /**
+     * Test a background refresh reloads holidays that are still cached.
+     */
+    @Test
+    void testFetchHolidays_RefreshReloadsCachedHolidays() {
+        HolidayKey key = new HolidayKey(2020, "US");
+        HolidayYear cached = HolidayYear.of(2020, holidaysIn(2020));
+        when(holidayCache.lookup(key))
+                .thenReturn(new HolidayCache.Lookup(CachedHolidays.found(cached), HolidayCache.Freshness.REFRESH_AHEAD));
+        // Left unused, as a refresh does not look at what is cached
+        lenient().when(holidayCache.peek(key)).thenReturn(CachedHolidays.found(cached));
+        when(holidayStore.find(key)).thenReturn(Optional.of(cached));
+        doAnswer(invocation -> {
+            invocation.getArgument(1, Runnable.class).run();
+            return null;
+        }).when(holidayRefresher).refresh(eq(key), any());
+
+        holidayService.fetchHolidayYear(2020, "US");
+
+        verify(holidayStore).find(key);
+        verify(holidayCache).put(key, CachedHolidays.found(cached));
+    }
+
+    /**
+     * Test fetch holidays throws not found for a cached not found answer.
+     */
+    @Test
+    void testFetchHolidays_ThrowsNotFound_WhenNotFoundIsCached() {
+        when(holidayCache.lookup(new HolidayKey(2025, "XYZ")))
+                .thenReturn(fresh(CachedHolidays.notFound()));
+
+        assertThatThrownBy(() -> holidayService.fetchHolidays(2025, "XYZ"))
+                .isInstanceOf(HttpClientErrorException.class)
+                .hasMessageContaining("No holidays found for XYZ in year 2025");
+    }
+
+    /**
+     * Test fetch holidays serves past years from the store without calling upstream.
+     */
+    @Test
+    void testFetchHolidays_ReturnsStoredHolidaysForPastYear() {
+        HolidayKey key = new HolidayKey(2020, "US");
+        HolidayYear stored = HolidayYear.of(2020, holidaysIn(2020));
+        when(holidayStore.find(key)).thenReturn(Optional.of(stored));
+
+        assertThat(holidayService.fetchHolidayYear(2020, "US")).isEqualTo(stored);
+        verify(holidayCache).put(key, CachedHolidays.found(stored));
+    }
+
+    /**
+     * Test fetch holidays throws not found in offline mode when nothing is stored.
+     */
+    @Test
+    void testFetchHolidays_ThrowsNotFound_WhenOfflineAndNotStored() {
+        HolidayKey key = new HolidayKey(2025, "US");
+        when(holidayStore.find(key)).thenReturn(Optional.empty());
+        when(holidayStore.isOffline()).thenReturn(true);
+
+        assertThatThrownBy(() -> holidayService.fetchHolidays(2025, "US"))
+                .isInstanceOf(HttpClientErrorException.class)
+                .hasMessageContaining("No stored holidays for US in year 2025");
+    }
+
+    /**
+     * Test stored holidays are served when upstream keeps failing.
+     */
+    @Test
+    void testFetchHolidays_FallsBackToStore_WhenUpstreamIsUnavailable() throws Exception {
+        useUpstream();
+        HolidayKey key = new HolidayKey(LocalDate.now().getYear(), "US");
+        HolidayYear stored = HolidayYear.of(key.year(), holidaysIn(key.year()));
+        when(holidayStore.find(key)).thenReturn(Optional.of(stored));
+        doThrow(new IOException("Connection refused")).when(httpClient).send(any(), any());
+
+        assertThat(holidayService.fetchHolidayYear(key.year(), "US")).isEqualTo(stored);
+        verify(httpClient, times(3)).send(any(), any());
+        verify(holidayCache, never()).put(any(), any());
+    }
+
+    /**
+     * Test an unavailable upstream is reported when nothing is stored.
+     */
+    @Test
+    void testFetchHolidays_ThrowsUnavailable_WhenUpstreamIsUnavailableAndNotStored() throws Exception {
+        useUpstream();
+        doThrow(new IOException("Connection refused")).when(httpClient).send(any(), any());
+
+        assertThatThrownBy(() -> holidayService.fetchHolidays(2025, "US"))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("after 3 attempts");
+        assertThat(meterRegistry.get(HolidayMetrics.UPSTREAM_REQUESTS).tag("status", "error").timer().count())
+                .isEqualTo(3);
+    }
+
+    private static HolidayCache.Lookup fresh(CachedHolidays holidays) {
+        return new HolidayCache.Lookup(holidays, HolidayCache.Freshness.FRESH);
+    }
+
+    // Wires the collaborators needed to call the mocked upstream client
+    private void useUpstream() {
+        ReflectionTestUtils.setField(holidayService, "apiUrl", "http://localhost/api/v3/PublicHolidays");
+        ReflectionTestUtils.setField(holidayService, "upstreamClientProperties", new UpstreamClientProperties());
+        ReflectionTestUtils.setField(holidayService, "upstreamClientMetrics", new UpstreamClientMetrics());
+        ReflectionTestUtils.setField(holidayService, "holidayResponseParser", new HolidayResponseParser(objectMapper));
+    }
+
+    // Helper method to create three holidays spread over the given year
+    private List<Holiday> holidaysIn(int year) {
+        return List.of(
+                new Holiday(LocalDate.of(year, 1, 1), createHolidayMap("US", "New Year")),
+                new Holiday(LocalDate.of(year, 7, 4), createHolidayMap("US", "Independence Day")),
+                new Holiday(LocalDate.of(year, 12, 25), createHolidayMap("US", "Christmas Day")));
+    }
+
     // Helper method to create a map for holiday names
     private Map<String, String> createHolidayMap(String countryCode, String holidayName) {
         Map<String, String> holidayMap = new HashMap<>();
@@ -0,0 +1,115 @@
+package com.holiday.api.service;
+
+import com.holiday.api.config.HolidayStoreProperties;
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * The type Holiday store test.
+ */
+class HolidayStoreTest {
+
+    private final HolidayYear holidays = HolidayYear.of(2024, List.of(
+            new Holiday(LocalDate.of(2024, 1, 1), null, "New Year's Day"),
+            new Holiday(LocalDate.of(2024, 12, 25), null, "Christmas Day")));
+
+    @TempDir
+    private Path directory;
+
+    private HolidayStoreProperties properties;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        properties = new HolidayStoreProperties();
+        properties.setEnabled(true);
+        properties.setDirectory(directory);
+    }
+
+    /**
+     * Test saved holidays are reloaded by a new store.
+     */
+    @Test
+    void testLoad_ReadsSavedHolidays() {
+        HolidayStore store = new HolidayStore(properties);
+        store.load();
+        store.save(new HolidayKey(2024, "US"), holidays);
+
+        HolidayStore reloaded = new HolidayStore(properties);
+        reloaded.load();
+
+        assertThat(reloaded.size()).isEqualTo(1);
+        assertThat(reloaded.find(new HolidayKey(2024, "US"))).hasValue(holidays);
+    }
+
+    /**
+     * Test country codes are matched case-insensitively.
+     */
+    @Test
+    void testFind_IgnoresCountryCodeCase() {
+        HolidayStore store = new HolidayStore(properties);
+        store.save(new HolidayKey(2024, "us"), holidays);
+
+        assertThat(store.find(new HolidayKey(2024, "US"))).isPresent();
+        assertThat(directory.resolve("US-2024.bin")).exists();
+    }
+
+    /**
+     * Test country codes that are not plain letters are never written to disk.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    void testSave_IgnoresInvalidCountryCode() throws IOException {
+        HolidayStore store = new HolidayStore(properties);
+        store.save(new HolidayKey(2024, "../US"), holidays);
+
+        try (var files = Files.list(directory)) {
+            assertThat(files).isEmpty();
+        }
+        assertThat(store.size()).isZero();
+    }
+
+    /**
+     * Test a disabled store neither writes nor finds anything.
+     */
+    @Test
+    void testSave_DisabledStoreIsNoOp() {
+        properties.setEnabled(false);
+        HolidayStore store = new HolidayStore(properties);
+        store.load();
+        store.save(new HolidayKey(2024, "US"), holidays);
+
+        assertThat(store.find(new HolidayKey(2024, "US"))).isEmpty();
+        assertThat(directory.resolve("US-2024.bin")).doesNotExist();
+    }
+
+    /**
+     * Test unreadable files are skipped on load.
+     *
+     * @throws IOException the io exception
+     */
+    @Test
+    void testLoad_SkipsCorruptFiles() throws IOException {
+        Files.write(directory.resolve("DE-2024.bin"), new byte[]{1, 2, 3});
+
+        HolidayStore store = new HolidayStore(properties);
+        store.load();
+
+        assertThat(store.size()).isZero();
+    }
+}
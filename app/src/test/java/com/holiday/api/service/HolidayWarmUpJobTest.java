@@ -0,0 +1,78 @@
+package com.holiday.api.service;
+
+import com.holiday.api.config.WarmUpProperties;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.concurrent.Executor;
+
+import static org.assertj.core.api.Assertions.assertThatCode;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Holiday warm up job test.
+ */
+@ExtendWith(MockitoExtension.class)
+class HolidayWarmUpJobTest {
+
+    @Mock
+    private HolidayService holidayService;
+    @Mock
+    private CountryCatalogue countryCatalogue;
+    @InjectMocks
+    private HolidayWarmUpJob warmUpJob;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        WarmUpProperties properties = new WarmUpProperties();
+        properties.setYearsBack(1);
+        properties.setYearsAhead(1);
+        properties.setRequestsPerSecond(1_000);
+        ReflectionTestUtils.setField(warmUpJob, "warmUpProperties", properties);
+        ReflectionTestUtils.setField(warmUpJob, "upstreamExecutor", (Executor) Runnable::run);
+        when(countryCatalogue.getCountryCodes()).thenReturn(List.of("US", "DE"));
+    }
+
+    /**
+     * Test warm up refreshes every country in the year window.
+     *
+     * @throws InterruptedException the interrupted exception
+     */
+    @Test
+    void testWarmUp_RefreshesEveryCountryAndYear() throws InterruptedException {
+        int currentYear = LocalDate.now().getYear();
+
+        warmUpJob.warmUp();
+
+        for (int year = currentYear - 1; year <= currentYear + 1; year++) {
+            verify(holidayService).refreshHolidays(year, "US");
+            verify(holidayService).refreshHolidays(year, "DE");
+        }
+    }
+
+    /**
+     * Test a failing lookup does not stop the warm up.
+     */
+    @Test
+    void testWarmUp_ContinuesAfterFailure() {
+        doThrow(new RuntimeException("upstream down")).when(holidayService).refreshHolidays(anyInt(), eq("US"));
+
+        assertThatCode(() -> warmUpJob.warmUp()).doesNotThrowAnyException();
+        verify(holidayService, times(3)).refreshHolidays(anyInt(), eq("DE"));
+    }
+}
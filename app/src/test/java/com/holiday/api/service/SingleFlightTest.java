@@ -0,0 +1,135 @@
+package com.holiday.api.service;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+/**
+ * The type Single flight test.
+ */
+class SingleFlightTest {
+
+    private static final int CALLERS = 8;
+
+    private SingleFlight<String, String> singleFlight;
+    private ExecutorService executor;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        singleFlight = new SingleFlight<>();
+        executor = Executors.newFixedThreadPool(CALLERS);
+    }
+
+    /**
+     * Tear down.
+     */
+    @AfterEach
+    void tearDown() {
+        executor.shutdownNow();
+    }
+
+    /**
+     * Test concurrent callers for the same key share one load.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExecute_ConcurrentCallersShareOneLoad() throws Exception {
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitCallers(() -> {
+            loads.incrementAndGet();
+            awaitRelease(release);
+            return "holidays";
+        });
+        waitUntilAllButLeaderCoalesced();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo("holidays");
+        }
+        assertThat(loads).hasValue(1);
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(CALLERS - 1);
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    /**
+     * Test a failed load is propagated to every waiting caller.
+     *
+     * @throws Exception the exception
+     */
+    @Test
+    void testExecute_PropagatesFailureToAllCallers() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+
+        List<Future<String>> results = submitCallers(() -> {
+            awaitRelease(release);
+            throw new IllegalStateException("upstream down");
+        });
+        waitUntilAllButLeaderCoalesced();
+        release.countDown();
+
+        for (Future<String> result : results) {
+            assertThatThrownBy(() -> result.get(5, TimeUnit.SECONDS))
+                    .hasCauseInstanceOf(IllegalStateException.class)
+                    .hasRootCauseMessage("upstream down");
+        }
+        assertThat(singleFlight.getInFlightCount()).isZero();
+    }
+
+    /**
+     * Test a new load is started once the previous one completed.
+     */
+    @Test
+    void testExecute_LoadsAgainAfterCompletion() {
+        AtomicInteger loads = new AtomicInteger();
+
+        singleFlight.execute("US", () -> "first-" + loads.incrementAndGet());
+        String second = singleFlight.execute("US", () -> "second-" + loads.incrementAndGet());
+
+        assertThat(second).isEqualTo("second-2");
+        assertThat(singleFlight.getCoalescedCount()).isZero();
+    }
+
+    private List<Future<String>> submitCallers(Supplier<String> loader) {
+        List<Future<String>> results = new ArrayList<>();
+        for (int i = 0; i < CALLERS; i++) {
+            results.add(executor.submit(() -> singleFlight.execute("US", loader)));
+        }
+        return results;
+    }
+
+    private void waitUntilAllButLeaderCoalesced() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (singleFlight.getCoalescedCount() < CALLERS - 1 && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+        assertThat(singleFlight.getCoalescedCount()).isEqualTo(CALLERS - 1);
+    }
+
+    private static void awaitRelease(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(e);
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.holiday.api.service;
+
+import com.holiday.api.config.UpstreamResilienceProperties;
+import com.holiday.api.exception.UpstreamTimeoutException;
+import com.holiday.api.exception.UpstreamUnavailableException;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.time.Duration;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Upstream call policy test.
+ */
+class UpstreamCallPolicyTest {
+
+    private final AtomicLong nanos = new AtomicLong();
+    private final AtomicInteger attempts = new AtomicInteger();
+    private UpstreamResilienceProperties properties;
+    private UpstreamCallPolicy policy;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        properties = new UpstreamResilienceProperties();
+        properties.setMaxAttempts(3);
+        properties.setInitialBackoff(Duration.ofMillis(1));
+        properties.setSlidingWindowSize(4);
+        properties.setMinimumCalls(4);
+        properties.setMaxConcurrentCalls(1);
+        properties.setMaxWait(Duration.ofMillis(10));
+        policy = new UpstreamCallPolicy(properties, nanos::get);
+    }
+
+    /**
+     * Test a 5xx answer is retried until a successful one.
+     */
+    @Test
+    void testExecute_RetriesServerErrors() {
+        HttpResponse<byte[]> response = policy.execute(() -> attempts.incrementAndGet() < 3 ? response(503) : response(200));
+
+        assertThat(response.statusCode()).isEqualTo(200);
+        assertThat(attempts).hasValue(3);
+        assertThat(policy.getRetries()).isEqualTo(2);
+    }
+
+    /**
+     * Test client errors are returned without being retried.
+     */
+    @Test
+    void testExecute_DoesNotRetryClientErrors() {
+        HttpResponse<byte[]> response = policy.execute(() -> {
+            attempts.incrementAndGet();
+            return response(404);
+        });
+
+        assertThat(response.statusCode()).isEqualTo(404);
+        assertThat(attempts).hasValue(1);
+    }
+
+    /**
+     * Test I/O errors are retried up to the maximum number of attempts.
+     */
+    @Test
+    void testExecute_ThrowsUnavailable_WhenAttemptsAreExhausted() {
+        assertThatThrownBy(() -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new IOException("Connection reset");
+        }))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("after 3 attempts")
+                .hasCauseInstanceOf(IOException.class);
+        assertThat(attempts).hasValue(3);
+    }
+
+    /**
+     * Test timeouts are not retried.
+     */
+    @Test
+    void testExecute_ThrowsTimeout_WithoutRetrying() {
+        assertThatThrownBy(() -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            throw new HttpTimeoutException("request timed out");
+        }))
+                .isInstanceOf(UpstreamTimeoutException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    /**
+     * Test calls fail fast without reaching upstream once the circuit breaker is open.
+     */
+    @Test
+    void testExecute_FailsFast_WhenCircuitBreakerIsOpen() {
+        properties.setMaxAttempts(1);
+        for (int i = 0; i < 4; i++) {
+            assertThatThrownBy(() -> policy.execute(() -> response(500)))
+                    .isInstanceOf(UpstreamUnavailableException.class);
+        }
+        assertThat(policy.getCircuitBreakerState()).isEqualTo(CircuitBreaker.State.OPEN);
+
+        assertThatThrownBy(() -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            return response(200);
+        }))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("circuit breaker is open");
+        assertThat(attempts).hasValue(0);
+        assertThat(policy.getRejectedCalls()).isEqualTo(1);
+    }
+
+    /**
+     * Test calls beyond the concurrency limit are rejected once the maximum wait has passed.
+     */
+    @Test
+    void testExecute_RejectsCalls_WhenBulkheadIsFull() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread inFlight = Thread.ofVirtual().start(() -> policy.execute(() -> {
+            started.countDown();
+            release.await();
+            return response(200);
+        }));
+        assertThat(started.await(5, TimeUnit.SECONDS)).isTrue();
+
+        assertThatThrownBy(() -> policy.execute(() -> response(200)))
+                .isInstanceOf(UpstreamUnavailableException.class)
+                .hasMessageContaining("Too many upstream calls");
+
+        release.countDown();
+        inFlight.join();
+        assertThat(policy.getAvailableSlots()).isEqualTo(1);
+    }
+
+    /**
+     * Test no attempt is made once the deadline of the request has passed.
+     */
+    @Test
+    void testExecute_ThrowsTimeout_WhenDeadlineHasPassed() {
+        Deadline deadline = Deadline.after(Duration.ofNanos(1));
+
+        assertThatThrownBy(() -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            return response(200);
+        }, deadline))
+                .isInstanceOf(UpstreamTimeoutException.class)
+                .hasMessageContaining("deadline");
+        assertThat(attempts).hasValue(0);
+    }
+
+    /**
+     * Test retries stop at the deadline of the request.
+     */
+    @Test
+    void testExecute_StopsRetrying_WhenDeadlinePasses() {
+        Deadline deadline = Deadline.after(Duration.ofMillis(50));
+
+        assertThatThrownBy(() -> policy.execute(() -> {
+            attempts.incrementAndGet();
+            Thread.sleep(60);
+            throw new IOException("Connection reset");
+        }, deadline))
+                .isInstanceOf(UpstreamTimeoutException.class);
+        assertThat(attempts).hasValue(1);
+    }
+
+    /**
+     * Test calls cut short by the deadline of their request do not count as upstream failures.
+     */
+    @Test
+    void testExecute_DoesNotOpenCircuitBreaker_WhenDeadlineCutsCallsShort() {
+        properties.setMaxAttempts(1);
+        for (int i = 0; i < 4; i++) {
+            Deadline deadline = Deadline.after(Duration.ofMillis(5));
+            assertThatThrownBy(() -> policy.execute(() -> {
+                Thread.sleep(10);
+                throw new HttpTimeoutException("request timed out");
+            }, deadline))
+                    .isInstanceOf(UpstreamTimeoutException.class);
+        }
+
+        assertThat(policy.getCircuitBreakerState()).isEqualTo(CircuitBreaker.State.CLOSED);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static HttpResponse<byte[]> response(int statusCode) {
+        HttpResponse<byte[]> response = mock(HttpResponse.class);
+        when(response.statusCode()).thenReturn(statusCode);
+        return response;
+    }
+}
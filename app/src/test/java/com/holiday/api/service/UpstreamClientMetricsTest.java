@@ -0,0 +1,69 @@
+package com.holiday.api.service;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import javax.net.ssl.SSLSession;
+import java.net.http.HttpClient;
+import java.net.http.HttpResponse;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+/**
+ * The type Upstream client metrics test.
+ */
+class UpstreamClientMetricsTest {
+
+    private UpstreamClientMetrics metrics;
+
+    /**
+     * Sets up.
+     */
+    @BeforeEach
+    void setUp() {
+        metrics = new UpstreamClientMetrics();
+    }
+
+    /**
+     * Test reused tls session counts as a single handshake.
+     */
+    @Test
+    void testRecord_ReusedSessionCountsOnce() {
+        HttpResponse<?> response = responseWith(HttpClient.Version.HTTP_2, new byte[]{1, 2, 3});
+
+        metrics.record(response);
+        metrics.record(response);
+        metrics.record(response);
+        metrics.record(response);
+
+        assertThat(metrics.getRequests()).isEqualTo(4);
+        assertThat(metrics.getHttp2Responses()).isEqualTo(4);
+        assertThat(metrics.getNewTlsSessions()).isEqualTo(1);
+        assertThat(metrics.getConnectionReuseRatio()).isEqualTo(0.75);
+    }
+
+    /**
+     * Test every new tls session counts as a handshake.
+     */
+    @Test
+    void testRecord_NewSessionsCountedSeparately() {
+        metrics.record(responseWith(HttpClient.Version.HTTP_1_1, new byte[]{1}));
+        metrics.record(responseWith(HttpClient.Version.HTTP_1_1, new byte[]{2}));
+
+        assertThat(metrics.getHttp2Responses()).isZero();
+        assertThat(metrics.getNewTlsSessions()).isEqualTo(2);
+        assertThat(metrics.getConnectionReuseRatio()).isZero();
+    }
+
+    private HttpResponse<?> responseWith(HttpClient.Version version, byte[] sessionId) {
+        SSLSession session = mock(SSLSession.class);
+        when(session.getId()).thenReturn(sessionId);
+        HttpResponse<?> response = mock(HttpResponse.class);
+        when(response.version()).thenReturn(version);
+        when(response.sslSession()).thenReturn(Optional.of(session));
+        return response;
+    }
+}
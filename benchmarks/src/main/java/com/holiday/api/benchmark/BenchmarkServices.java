@@ -0,0 +1,60 @@
+package com.holiday.api.benchmark;
+
+import com.github.benmanes.caffeine.cache.Ticker;
+import com.holiday.api.config.HolidayCacheProperties;
+import com.holiday.api.config.HolidayStoreProperties;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.service.CachedHolidays;
+import com.holiday.api.service.HolidayCache;
+import com.holiday.api.service.HolidayMetrics;
+import com.holiday.api.service.HolidayRefresher;
+import com.holiday.api.service.HolidayService;
+import com.holiday.api.service.HolidayStore;
+import com.holiday.api.service.SingleFlight;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.springframework.util.ReflectionUtils;
+
+import java.lang.reflect.Field;
+import java.util.Map;
+import java.util.concurrent.Executor;
+
+/**
+ * Builds a {@link HolidayService} outside Spring, its cache filled with fixtures so upstream is never called.
+ * <p>
+ * Lookups run on the calling thread, so the benchmarks measure the service's own work rather than thread hand-offs.
+ */
+final class BenchmarkServices {
+
+    private BenchmarkServices() {
+    }
+
+    /**
+     * Creates a holiday service serving the given holidays from its cache.
+     *
+     * @param holidays the holidays to cache
+     * @return the holiday service
+     */
+    static HolidayService holidayService(Map<HolidayKey, HolidayYear> holidays) {
+        HolidayCache holidayCache = new HolidayCache(new HolidayCacheProperties(), Ticker.systemTicker());
+        holidays.forEach((key, year) -> holidayCache.put(key, CachedHolidays.found(year)));
+
+        HolidayService holidayService = new HolidayService();
+        set(holidayService, "holidayCache", holidayCache);
+        set(holidayService, "holidayStore", new HolidayStore(new HolidayStoreProperties()));
+        set(holidayService, "upstreamFetches", new SingleFlight<HolidayKey, CachedHolidays>());
+        set(holidayService, "upstreamExecutor", (Executor) Runnable::run);
+        set(holidayService, "holidayMetrics", new HolidayMetrics(new SimpleMeterRegistry()));
+        set(holidayService, "holidayRefresher", new HolidayRefresher(Runnable::run));
+        return holidayService;
+    }
+
+    private static void set(Object target, String name, Object value) {
+        Field field = ReflectionUtils.findField(target.getClass(), name);
+        if (field == null) {
+            throw new IllegalStateException("No field " + name + " on " + target.getClass().getName());
+        }
+        ReflectionUtils.makeAccessible(field);
+        ReflectionUtils.setField(field, target, value);
+    }
+}
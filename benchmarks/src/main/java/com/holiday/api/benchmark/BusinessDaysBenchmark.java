@@ -0,0 +1,88 @@
+package com.holiday.api.benchmark;
+
+import com.holiday.api.domain.BusinessDays;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.request.BusinessDayRequest;
+import com.holiday.api.service.Deadline;
+import com.holiday.api.service.HolidayService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /holidays/business-days} over ten cached years, in the union of the holidays of 1 and 10 countries.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class BusinessDaysBenchmark {
+
+    private static final int YEARS = 10;
+
+    @Param({"1", "10"})
+    private int countries;
+
+    private HolidayService holidayService;
+    private BusinessDayRequest countRequest;
+    private BusinessDayRequest addRequest;
+
+    /**
+     * Caches a fixture, shifted to each year, for every requested country.
+     */
+    @Setup
+    public void setUp() {
+        Map<HolidayKey, HolidayYear> holidays = new HashMap<>();
+        List<String> countryCodes = new ArrayList<>();
+        for (int c = 0; c < countries; c++) {
+            String countryCode = "C" + c;
+            countryCodes.add(countryCode);
+            HolidayYear fixture = Fixtures.holidays(c);
+            for (int year = Fixtures.YEAR; year < Fixtures.YEAR + YEARS; year++) {
+                holidays.put(new HolidayKey(year, countryCode), Fixtures.shiftedTo(fixture, year));
+            }
+        }
+        holidayService = BenchmarkServices.holidayService(holidays);
+        LocalDate from = LocalDate.of(Fixtures.YEAR, 1, 1);
+        countRequest = new BusinessDayRequest(from, from.plusYears(YEARS).minusDays(1), null, countryCodes);
+        addRequest = new BusinessDayRequest(from, null, 600L, countryCodes);
+    }
+
+    /**
+     * Counts business days over ten years.
+     *
+     * @return the business days
+     */
+    @Benchmark
+    public BusinessDays countBusinessDays() {
+        return holidayService.countBusinessDays(countRequest, Deadline.none()).join().getResults();
+    }
+
+    /**
+     * Adds about two and a half years' worth of business days, fetching eight years.
+     *
+     * @return the business days
+     */
+    @Benchmark
+    public BusinessDays addBusinessDays() {
+        return holidayService.addBusinessDays(addRequest, Deadline.none()).join().getResults();
+    }
+}
@@ -0,0 +1,102 @@
+package com.holiday.api.benchmark;
+
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.request.CountryRequest;
+import com.holiday.api.service.Deadline;
+import com.holiday.api.service.HolidayIntersection;
+import com.holiday.api.service.HolidayService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the bitmap intersection behind {@code /holidays/common} with the map-based lookup it replaced, and
+ * measures the whole {@code getCommonHolidays} call over cached holidays.
+ * <p>
+ * Countries cycle through the fixtures, so every request shares at least New Year's Day.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class CommonHolidaysBenchmark {
+
+    @Param({"2", "10", "100"})
+    private int countries;
+
+    private List<String> countryCodes;
+    private List<HolidayYear> holidayYears;
+    private List<List<Holiday>> holidayLists;
+    private HolidayService holidayService;
+    private CountryRequest request;
+
+    /**
+     * Loads a fixture for every requested country.
+     */
+    @Setup
+    public void setUp() {
+        countryCodes = new ArrayList<>();
+        holidayYears = new ArrayList<>();
+        holidayLists = new ArrayList<>();
+        Map<HolidayKey, HolidayYear> cached = new HashMap<>();
+
+        for (int c = 0; c < countries; c++) {
+            String countryCode = "C" + c;
+            HolidayYear holidays = Fixtures.holidays(c);
+            countryCodes.add(countryCode);
+            holidayYears.add(holidays);
+            holidayLists.add(holidays.toHolidays());
+            cached.put(new HolidayKey(Fixtures.YEAR, countryCode), holidays);
+        }
+        holidayService = BenchmarkServices.holidayService(cached);
+        request = new CountryRequest(Fixtures.YEAR, countryCodes);
+    }
+
+    /**
+     * Bitmap intersection.
+     *
+     * @return the common holidays
+     */
+    @Benchmark
+    public List<Holiday> bitmap() {
+        return HolidayIntersection.commonHolidays(countryCodes, holidayYears);
+    }
+
+    /**
+     * Map-based baseline.
+     *
+     * @return the common holidays
+     */
+    @Benchmark
+    public List<Holiday> mapBased() {
+        return MapBasedCommonHolidays.commonHolidays(countryCodes, holidayLists);
+    }
+
+    /**
+     * Gets common holidays through the service, cache lookups included.
+     *
+     * @return the common holidays
+     */
+    @Benchmark
+    public List<Holiday> getCommonHolidays() {
+        return holidayService.getCommonHolidays(request, Deadline.none()).join().getResults();
+    }
+}
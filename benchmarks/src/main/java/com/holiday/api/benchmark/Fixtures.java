@@ -0,0 +1,92 @@
+package com.holiday.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.service.HolidayResponseParser;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.List;
+
+/**
+ * Upstream responses stored under {@code fixtures/} in the test-fixtures module, so the benchmarks run without network
+ * access.
+ */
+final class Fixtures {
+
+    /**
+     * Year of every fixture.
+     */
+    static final int YEAR = 2025;
+
+    /**
+     * Countries with a fixture.
+     */
+    static final List<String> COUNTRIES = List.of("US", "GB", "DE", "FR", "NL", "BR", "CA", "IT", "ES", "JP");
+
+    private static final HolidayResponseParser PARSER = new HolidayResponseParser(new ObjectMapper());
+
+    private Fixtures() {
+    }
+
+    /**
+     * Reads the raw upstream response of a country.
+     *
+     * @param countryCode the country code
+     * @return the response body
+     */
+    static byte[] body(String countryCode) {
+        String resource = "/fixtures/" + countryCode + "-" + YEAR + ".json";
+        try (InputStream in = Fixtures.class.getResourceAsStream(resource)) {
+            if (in == null) {
+                throw new IllegalArgumentException("No fixture " + resource);
+            }
+            return in.readAllBytes();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    /**
+     * Parses the fixture of a country.
+     *
+     * @param countryCode the country code
+     * @return the holidays
+     */
+    static HolidayYear holidays(String countryCode) {
+        return PARSER.parse(YEAR, body(countryCode));
+    }
+
+    /**
+     * Parses the fixture used for the n-th country of a request, cycling through the fixtures.
+     *
+     * @param index the index of the country
+     * @return the holidays
+     */
+    static HolidayYear holidays(int index) {
+        return holidays(COUNTRIES.get(index % COUNTRIES.size()));
+    }
+
+    /**
+     * Moves holidays to another year, keeping their month and day. A 29 February is dropped.
+     *
+     * @param holidays the holidays
+     * @param year     the year to move them to
+     * @return the moved holidays
+     */
+    static HolidayYear shiftedTo(HolidayYear holidays, int year) {
+        HolidayYear.Builder shifted = HolidayYear.builder(year);
+        for (int i = 0; i < holidays.size(); i++) {
+            LocalDate date = LocalDate.ofEpochDay(holidays.epochDayAt(i));
+            try {
+                shifted.add(LocalDate.of(year, date.getMonth(), date.getDayOfMonth()).toEpochDay(), holidays.nameAt(i));
+            } catch (DateTimeException e) {
+                // 29 February outside a leap year
+            }
+        }
+        return shifted.build();
+    }
+}
@@ -0,0 +1,70 @@
+package com.holiday.api.benchmark;
+
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.request.HolidayCheckRequest;
+import com.holiday.api.service.Deadline;
+import com.holiday.api.service.HolidayService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /holidays/check} bit tests of every day of the year over cached holidays.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class HolidayCheckBenchmark {
+
+    @Param({"1", "10"})
+    private int countries;
+
+    private HolidayService holidayService;
+    private HolidayCheckRequest request;
+
+    /**
+     * Caches a fixture for every requested country, and asks about every day of the year.
+     */
+    @Setup
+    public void setUp() {
+        Map<HolidayKey, HolidayYear> holidays = new HashMap<>();
+        List<String> countryCodes = new ArrayList<>();
+        for (int c = 0; c < countries; c++) {
+            String countryCode = "C" + c;
+            countryCodes.add(countryCode);
+            holidays.put(new HolidayKey(Fixtures.YEAR, countryCode), Fixtures.holidays(c));
+        }
+        holidayService = BenchmarkServices.holidayService(holidays);
+        LocalDate start = LocalDate.of(Fixtures.YEAR, 1, 1);
+        request = new HolidayCheckRequest(start.datesUntil(start.plusYears(1)).toList(), countryCodes);
+    }
+
+    /**
+     * Checks holidays.
+     *
+     * @return whether each date is a holiday in each country
+     */
+    @Benchmark
+    public Map<LocalDate, Map<String, Boolean>> checkHolidays() {
+        return holidayService.checkHolidays(request, Deadline.none()).join().getResults();
+    }
+}
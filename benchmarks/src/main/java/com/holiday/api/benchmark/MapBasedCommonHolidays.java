@@ -0,0 +1,38 @@
+package com.holiday.api.benchmark;
+
+import com.holiday.api.domain.Holiday;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+/**
+ * The map-based common holidays lookup the service used before {@link com.holiday.api.service.HolidayIntersection},
+ * kept as a baseline.
+ */
+final class MapBasedCommonHolidays {
+
+    private MapBasedCommonHolidays() {
+    }
+
+    static List<Holiday> commonHolidays(List<String> countryCodes, List<List<Holiday>> holidayLists) {
+        Map<LocalDate, Map<String, String>> holidayMap = new HashMap<>();
+
+        for (int i = 0; i < countryCodes.size(); i++) {
+            String countryCode = countryCodes.get(i);
+            for (Holiday holiday : holidayLists.get(i)) {
+                holidayMap
+                        .computeIfAbsent(holiday.getDate(), k -> new HashMap<>())
+                        .put(countryCode, holiday.getLocalName());
+            }
+        }
+
+        return holidayMap.entrySet().stream()
+                .filter(entry -> entry.getValue().size() == countryCodes.size())
+                .sorted(Map.Entry.comparingByKey())
+                .map(entry -> new Holiday(entry.getKey(), entry.getValue()))
+                .collect(Collectors.toList());
+    }
+}
@@ -0,0 +1,55 @@
+package com.holiday.api.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.service.HolidayResponseParser;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of a recorded upstream response into a {@link HolidayYear}.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ParseHolidaysBenchmark {
+
+    @Param({"US", "DE", "CA", "JP"})
+    private String country;
+
+    private HolidayResponseParser parser;
+    private byte[] body;
+
+    /**
+     * Reads the fixture.
+     */
+    @Setup
+    public void setUp() {
+        parser = new HolidayResponseParser(new ObjectMapper());
+        body = Fixtures.body(country);
+    }
+
+    /**
+     * Parse holidays.
+     *
+     * @return the holidays
+     */
+    @Benchmark
+    public HolidayYear parseHolidays() {
+        return parser.parse(Fixtures.YEAR, body);
+    }
+}
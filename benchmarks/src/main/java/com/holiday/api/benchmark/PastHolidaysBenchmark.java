@@ -0,0 +1,68 @@
+package com.holiday.api.benchmark;
+
+import com.holiday.api.domain.Holiday;
+import com.holiday.api.domain.HolidayKey;
+import com.holiday.api.domain.HolidayYear;
+import com.holiday.api.service.HolidayService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@code /holidays/past} selection of the most recent holidays over cached years.
+ * <p>
+ * The fixture is moved to the current and the two previous years, since the selection depends on today's date.
+ */
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PastHolidaysBenchmark {
+
+    private static final int CACHED_YEARS = 3;
+
+    @Param({"US", "JP"})
+    private String country;
+
+    private HolidayService holidayService;
+
+    /**
+     * Caches the fixture for the current and previous years.
+     */
+    @Setup
+    public void setUp() {
+        HolidayYear fixture = Fixtures.holidays(country);
+        int currentYear = LocalDate.now().getYear();
+        Map<HolidayKey, HolidayYear> holidays = new HashMap<>();
+        for (int year = currentYear; year > currentYear - CACHED_YEARS; year--) {
+            holidays.put(new HolidayKey(year, country), Fixtures.shiftedTo(fixture, year));
+        }
+        holidayService = BenchmarkServices.holidayService(holidays);
+    }
+
+    /**
+     * Gets past holidays.
+     *
+     * @return the past holidays
+     */
+    @Benchmark
+    public List<Holiday> getPastHolidays() {
+        return holidayService.getPastHolidays(country);
+    }
+}
@@ -1,7 +0,0 @@
-package com.holiday.api.cucumber;
-
-import org.springframework.boot.SpringBootConfiguration;
-
-@SpringBootConfiguration
-public class HolidayApiFunctionalTest {
-}
@@ -0,0 +1,60 @@
+package com.holiday.api.loadtest;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Formats load test results as a Markdown report.
+ */
+final class LoadReport {
+
+    private LoadReport() {
+    }
+
+    static String markdown(String target, Duration duration, Duration warmUp, Duration p99Objective,
+                           Map<String, List<StepResult>> results) {
+        StringBuilder report = new StringBuilder();
+        report.append("# Load test report\n\n");
+        report.append("- Target: ").append(target).append('\n');
+        report.append("- Run at: ").append(OffsetDateTime.now().truncatedTo(ChronoUnit.SECONDS)).append('\n');
+        report.append("- Step duration: ").append(duration).append(", warm-up: ").append(warmUp).append('\n');
+        report.append("- p99 objective: ").append(p99Objective.toMillis()).append(" ms\n");
+        report.append("- JVM: ").append(Runtime.version()).append(", ")
+                .append(Runtime.getRuntime().availableProcessors()).append(" CPUs\n");
+
+        results.forEach((scenario, steps) -> {
+            report.append("\n## ").append(scenario).append("\n\n");
+            report.append("| Target (req/s) | Sent | Failed | Timed out | Throughput (req/s) | p50 (ms) | p95 (ms) | p99 (ms) | Max (ms) |\n");
+            report.append("|---------------:|-----:|-------:|----------:|-------------------:|---------:|---------:|---------:|---------:|\n");
+            for (StepResult step : steps) {
+                report.append(String.format(Locale.ROOT, "| %d | %d | %d | %d | %.1f | %.1f | %.1f | %.1f | %.1f |%n",
+                        step.targetRate(), step.sent(), step.failed(), step.timedOut(), step.throughput(),
+                        millis(step.p50Nanos()), millis(step.p95Nanos()), millis(step.p99Nanos()),
+                        millis(step.maxNanos())));
+            }
+            report.append('\n').append(saturation(steps, p99Objective)).append('\n');
+        });
+        return report.toString();
+    }
+
+    private static String saturation(List<StepResult> steps, Duration p99Objective) {
+        double sustained = steps.stream()
+                .filter(step -> step.sustained(p99Objective.toNanos()))
+                .mapToDouble(StepResult::throughput)
+                .max()
+                .orElse(-1);
+        if (sustained < 0) {
+            return "Saturation throughput: below " + steps.get(0).targetRate() + " req/s";
+        }
+        boolean saturated = !steps.get(steps.size() - 1).sustained(p99Objective.toNanos());
+        return String.format(Locale.ROOT, "Saturation throughput: %s%.1f req/s", saturated ? "" : "at least ", sustained);
+    }
+
+    private static double millis(long nanos) {
+        return nanos / 1e6;
+    }
+}
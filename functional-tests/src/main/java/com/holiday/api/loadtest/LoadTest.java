@@ -0,0 +1,199 @@
+package com.holiday.api.loadtest;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.UncheckedIOException;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Drives {@code /holidays/past}, {@code /holidays/count} and {@code /holidays/common} at fixed request rates and
+ * reports latency percentiles and the highest rate each endpoint sustains.
+ * <p>
+ * Requests are started on a fixed schedule whether or not earlier ones have completed, and latency is measured from
+ * the time a request was due, so a slow application shows up as higher latency rather than as fewer requests. For
+ * every scenario the rates are tried in increasing order, after a warm-up at the lowest one, until one is no longer
+ * sustained (see {@link StepResult#sustained(long)}).
+ * <p>
+ * Options, all given as {@code --name=value}: {@code target}, {@code scenarios}, {@code rates}, {@code duration},
+ * {@code warm-up}, {@code p99-objective}, {@code year}, {@code countries}, {@code countries-per-request} and
+ * {@code report}.
+ */
+public class LoadTest {
+
+    private static final Duration REQUEST_TIMEOUT = Duration.ofSeconds(10);
+
+    private static final int PENDING = 0;
+    private static final int SUCCEEDED = 1;
+    private static final int FAILED = 2;
+
+    private final HttpClient client;
+    private final ExecutorService executor;
+    private final ObjectMapper objectMapper = new ObjectMapper();
+    private final String target;
+    private final int year;
+    private final List<String> countries;
+    private final int countriesPerRequest;
+
+    private LoadTest(String target, int year, List<String> countries, int countriesPerRequest) {
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.client = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_1_1)
+                .connectTimeout(Duration.ofSeconds(5))
+                .executor(executor)
+                .build();
+        this.target = target;
+        this.year = year;
+        this.countries = countries;
+        this.countriesPerRequest = Math.min(countriesPerRequest, countries.size());
+    }
+
+    /**
+     * Runs the load test and writes the report.
+     *
+     * @param args the arguments
+     * @throws Exception if the test is interrupted or the report cannot be written
+     */
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        String target = arguments.get("target", "http://localhost:8084/holidays");
+        List<String> scenarios = arguments.getList("scenarios", List.of("past", "count", "common"));
+        List<Integer> rates = arguments.getList("rates", List.of("25", "50", "100", "200", "400", "800")).stream()
+                .map(Integer::parseInt)
+                .toList();
+        Duration duration = arguments.getDuration("duration", Duration.ofSeconds(20));
+        Duration warmUp = arguments.getDuration("warm-up", Duration.ofSeconds(10));
+        Duration p99Objective = arguments.getDuration("p99-objective", Duration.ofMillis(500));
+        Path report = Path.of(arguments.get("report", "target/load-report.md"));
+
+        LoadTest loadTest = new LoadTest(target,
+                arguments.getInt("year", 2025),
+                arguments.getList("countries", List.of("US", "GB", "DE", "FR", "NL", "BR", "CA", "IT", "ES", "JP")),
+                arguments.getInt("countries-per-request", 5));
+
+        Map<String, List<StepResult>> results = new LinkedHashMap<>();
+        try {
+            for (String scenario : scenarios) {
+                results.put(scenario, loadTest.runScenario(scenario, rates, duration, warmUp, p99Objective));
+            }
+        } finally {
+            loadTest.executor.close();
+        }
+
+        String markdown = LoadReport.markdown(target, duration, warmUp, p99Objective, results);
+        System.out.println(markdown);
+        Files.createDirectories(report.toAbsolutePath().getParent());
+        Files.writeString(report, markdown);
+        System.out.println("Report written to " + report.toAbsolutePath());
+    }
+
+    private List<StepResult> runScenario(String scenario, List<Integer> rates, Duration duration, Duration warmUp,
+                                         Duration p99Objective) throws InterruptedException {
+        System.out.printf("Warming up %s at %d req/s for %s%n", scenario, rates.get(0), warmUp);
+        runStep(scenario, rates.get(0), warmUp);
+
+        List<StepResult> steps = new ArrayList<>();
+        for (int rate : rates) {
+            StepResult step = runStep(scenario, rate, duration);
+            System.out.printf("%s at %d req/s: %.1f req/s, p99 %.1f ms, %d failed, %d of them timed out%n", scenario,
+                    rate, step.throughput(), step.p99Nanos() / 1e6, step.failed(), step.timedOut());
+            steps.add(step);
+            if (!step.sustained(p99Objective.toNanos())) {
+                break;
+            }
+        }
+        return steps;
+    }
+
+    private StepResult runStep(String scenario, int rate, Duration duration) throws InterruptedException {
+        int total = (int) Math.max(1, rate * duration.toMillis() / 1000);
+        long interval = TimeUnit.SECONDS.toNanos(1) / rate;
+        long[] latencies = new long[total];
+        // Written after the latency, so a request seen as answered has its latency visible and written for good
+        AtomicIntegerArray outcomes = new AtomicIntegerArray(total);
+        List<CompletableFuture<?>> requests = new ArrayList<>(total);
+        CountDownLatch completed = new CountDownLatch(total);
+
+        long start = System.nanoTime();
+        for (int i = 0; i < total; i++) {
+            long due = start + i * interval;
+            long wait = due - System.nanoTime();
+            if (wait > 0) {
+                LockSupport.parkNanos(wait);
+            }
+            int index = i;
+            requests.add(client.sendAsync(request(scenario, i), HttpResponse.BodyHandlers.discarding())
+                    .whenComplete((response, error) -> {
+                        latencies[index] = System.nanoTime() - due;
+                        outcomes.set(index, error == null && response.statusCode() == 200 ? SUCCEEDED : FAILED);
+                        completed.countDown();
+                    }));
+        }
+        boolean allCompleted = completed.await(REQUEST_TIMEOUT.toMillis() * 2, TimeUnit.MILLISECONDS);
+        double elapsedSeconds = (System.nanoTime() - start) / 1e9;
+
+        long[] successful = new long[total];
+        int count = 0;
+        int timedOut = 0;
+        for (int i = 0; i < total; i++) {
+            int outcome = outcomes.get(i);
+            if (outcome == SUCCEEDED) {
+                successful[count++] = latencies[i];
+            } else if (outcome == PENDING) {
+                timedOut++;
+            }
+        }
+        if (!allCompleted) {
+            // Left running, they would load the next step
+            requests.forEach(request -> request.cancel(true));
+        }
+        return StepResult.of(rate, total, timedOut, Arrays.copyOf(successful, count), elapsedSeconds);
+    }
+
+    private HttpRequest request(String scenario, int index) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder().timeout(REQUEST_TIMEOUT);
+        return switch (scenario) {
+            case "past" -> builder.uri(URI.create(target + "/past/" + countries.get(index % countries.size())))
+                    .GET()
+                    .build();
+            case "count", "common" -> builder.uri(URI.create(target + "/" + scenario))
+                    .header("Content-Type", "application/json")
+                    .POST(HttpRequest.BodyPublishers.ofString(countryRequest(index)))
+                    .build();
+            default -> throw new IllegalArgumentException("Unknown scenario: " + scenario);
+        };
+    }
+
+    /**
+     * A request for a window of countries, moved by one country on every request.
+     */
+    private String countryRequest(int index) {
+        List<String> countryCodes = new ArrayList<>(countriesPerRequest);
+        for (int c = 0; c < countriesPerRequest; c++) {
+            countryCodes.add(countries.get((index + c) % countries.size()));
+        }
+        try {
+            return objectMapper.writeValueAsString(Map.of("year", year, "countryCodes", countryCodes));
+        } catch (JsonProcessingException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package com.holiday.api.loadtest;
+
+import java.util.Arrays;
+
+/**
+ * Outcome of running one scenario at one request rate.
+ *
+ * @param targetRate the requests started per second
+ * @param sent       the requests sent
+ * @param succeeded  the requests answered with a 200
+ * @param timedOut   the requests still unanswered when the step stopped waiting, counted as failed
+ * @param throughput the successful requests completed per second
+ * @param p50Nanos   the median latency of successful requests
+ * @param p95Nanos   the 95th percentile latency of successful requests
+ * @param p99Nanos   the 99th percentile latency of successful requests
+ * @param maxNanos   the highest latency of successful requests
+ */
+record StepResult(int targetRate, int sent, int succeeded, int timedOut, double throughput,
+                  long p50Nanos, long p95Nanos, long p99Nanos, long maxNanos) {
+
+    /**
+     * Summarises the latencies of the successful requests of a step.
+     *
+     * @param targetRate     the requests started per second
+     * @param sent           the requests sent
+     * @param timedOut       the requests still unanswered when the step stopped waiting
+     * @param latencies      the latencies of the successful requests, in any order
+     * @param elapsedSeconds the time from the first request to the last response, or to the end of the wait
+     * @return the step result
+     */
+    static StepResult of(int targetRate, int sent, int timedOut, long[] latencies, double elapsedSeconds) {
+        long[] sorted = latencies.clone();
+        Arrays.sort(sorted);
+        return new StepResult(targetRate, sent, sorted.length, timedOut, sorted.length / elapsedSeconds,
+                percentile(sorted, 50), percentile(sorted, 95), percentile(sorted, 99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1]);
+    }
+
+    int failed() {
+        return sent - succeeded;
+    }
+
+    double errorRatio() {
+        return sent == 0 ? 0 : (double) failed() / sent;
+    }
+
+    /**
+     * Whether the application kept up with the rate: few errors, the p99 within the objective and nearly every
+     * request completed in time.
+     */
+    boolean sustained(long p99ObjectiveNanos) {
+        return errorRatio() <= 0.01 && p99Nanos <= p99ObjectiveNanos && throughput >= 0.9 * targetRate;
+    }
+
+    private static long percentile(long[] sorted, int percentile) {
+        if (sorted.length == 0) {
+            return 0;
+        }
+        int rank = (int) Math.ceil(percentile / 100.0 * sorted.length);
+        return sorted[Math.max(rank, 1) - 1];
+    }
+}
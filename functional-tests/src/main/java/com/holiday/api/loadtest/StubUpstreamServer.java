@@ -0,0 +1,180 @@
+package com.holiday.api.loadtest;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local stand-in for the {@code /api/v3/PublicHolidays/{year}/{country}} endpoint of the upstream holiday API.
+ * <p>
+ * Responses come from the recorded fixtures under {@code fixtures/}, moved to the requested year. Countries without
+ * a fixture get a 404 and malformed years a 400, like upstream. Every response is delayed by a fixed latency plus a
+ * random jitter, and a share of requests can be failed with a 500. Each request is handled on its own virtual
+ * thread, so the delay does not limit concurrency.
+ * <p>
+ * Start it with {@code --port}, {@code --latency}, {@code --jitter} (ISO-8601 durations), {@code --error-rate}
+ * (between 0 and 1) and {@code --seed}, then point the application at it with
+ * {@code --holiday.api.url=http://localhost:<port>/api/v3/PublicHolidays}.
+ */
+public class StubUpstreamServer implements AutoCloseable {
+
+    /**
+     * Path of the stubbed endpoint.
+     */
+    public static final String PATH = "/api/v3/PublicHolidays";
+
+    private static final Pattern REQUEST = Pattern.compile(PATH + "/([^/]+)/([^/]+)/?");
+    private static final Pattern YEAR = Pattern.compile("\\d{4}");
+    private static final String FIXTURE_YEAR = "2025";
+
+    private final HttpServer server;
+    private final ExecutorService executor;
+    private final Duration latency;
+    private final Duration jitter;
+    private final double errorRate;
+    private final Random random;
+    private final Map<String, Optional<String>> fixtures = new ConcurrentHashMap<>();
+
+    private StubUpstreamServer(int port, Duration latency, Duration jitter, double errorRate, long seed) throws IOException {
+        this.latency = latency;
+        this.jitter = jitter;
+        this.errorRate = errorRate;
+        this.random = new Random(seed);
+        this.executor = Executors.newVirtualThreadPerTaskExecutor();
+        this.server = HttpServer.create(new InetSocketAddress(port), 0);
+        server.createContext(PATH, this::handle);
+        server.setExecutor(executor);
+    }
+
+    /**
+     * Starts a stub server.
+     *
+     * @param port      the port, 0 for any free port
+     * @param latency   the delay added to every response
+     * @param jitter    the maximum random delay added on top of the latency
+     * @param errorRate the share of requests answered with a 500
+     * @param seed      the seed of the jitter and error draws
+     * @return the started server
+     * @throws IOException if the port cannot be bound
+     */
+    public static StubUpstreamServer start(int port, Duration latency, Duration jitter, double errorRate, long seed) throws IOException {
+        StubUpstreamServer stub = new StubUpstreamServer(port, latency, jitter, errorRate, seed);
+        stub.server.start();
+        System.out.printf("Stub upstream listening on %s with latency: %s, jitter: %s, error rate: %s%n",
+                stub.baseUrl(), latency, jitter, errorRate);
+        return stub;
+    }
+
+    /**
+     * Gets the URL to configure as {@code holiday.api.url}.
+     *
+     * @return the base url
+     */
+    public String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort() + PATH;
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+        executor.close();
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            sleep(delay());
+            Matcher matcher = REQUEST.matcher(exchange.getRequestURI().getPath());
+            if (!matcher.matches()) {
+                respond(exchange, 404, "Not Found");
+            } else if (!YEAR.matcher(matcher.group(1)).matches()) {
+                respond(exchange, 400, "Invalid year: " + matcher.group(1));
+            } else if (failNext()) {
+                respond(exchange, 500, "Injected failure");
+            } else {
+                Optional<String> body = fixture(matcher.group(2).toUpperCase(), matcher.group(1));
+                if (body.isPresent()) {
+                    respond(exchange, 200, body.get());
+                } else {
+                    respond(exchange, 404, "Not Found");
+                }
+            }
+        }
+    }
+
+    private Duration delay() {
+        long jitterNanos = jitter.toNanos();
+        synchronized (random) {
+            return jitterNanos <= 0 ? latency : latency.plusNanos((long) (random.nextDouble() * jitterNanos));
+        }
+    }
+
+    private boolean failNext() {
+        synchronized (random) {
+            return errorRate > 0 && random.nextDouble() < errorRate;
+        }
+    }
+
+    private Optional<String> fixture(String countryCode, String year) {
+        Optional<String> recorded = fixtures.computeIfAbsent(countryCode, StubUpstreamServer::readFixture);
+        return recorded.map(body -> body.replace("\"" + FIXTURE_YEAR + "-", "\"" + year + "-"));
+    }
+
+    private static Optional<String> readFixture(String countryCode) {
+        try (InputStream in = StubUpstreamServer.class.getResourceAsStream("/fixtures/" + countryCode + "-" + FIXTURE_YEAR + ".json")) {
+            return in == null ? Optional.empty() : Optional.of(new String(in.readAllBytes(), StandardCharsets.UTF_8));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void respond(HttpExchange exchange, int status, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().set("Content-Type", status == 200 ? "application/json" : "text/plain");
+        exchange.sendResponseHeaders(status, bytes.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(bytes);
+        }
+    }
+
+    private static void sleep(Duration duration) {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * Runs the stub until the process is stopped.
+     *
+     * @param args the arguments
+     * @throws Exception if the server cannot be started
+     */
+    public static void main(String[] args) throws Exception {
+        Arguments arguments = Arguments.parse(args);
+        StubUpstreamServer stub = start(
+                arguments.getInt("port", 8090),
+                arguments.getDuration("latency", Duration.ofMillis(50)),
+                arguments.getDuration("jitter", Duration.ofMillis(20)),
+                arguments.getDouble("error-rate", 0),
+                arguments.getLong("seed", 42));
+        Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+        new CountDownLatch(1).await();
+    }
+}
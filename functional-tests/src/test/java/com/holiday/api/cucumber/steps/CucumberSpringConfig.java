@@ -1,9 +1,43 @@
 package com.holiday.api.cucumber.steps;
 
+import com.holiday.api.HolidayApiApplication;
+import com.holiday.api.loadtest.StubUpstreamServer;
 import io.cucumber.spring.CucumberContextConfiguration;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+
+/**
+ * Starts the application on a random port, backed by a {@link StubUpstreamServer} serving the recorded fixtures, so
+ * the scenarios run without internet access.
+ */
 @CucumberContextConfiguration
-@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@SpringBootTest(classes = HolidayApiApplication.class, webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
 public class CucumberSpringConfig {
+
+    private static final StubUpstreamServer STUB = startStub();
+
+    /**
+     * Points the application at the stub upstream server.
+     *
+     * @param registry the registry
+     */
+    @DynamicPropertySource
+    static void upstreamProperties(DynamicPropertyRegistry registry) {
+        registry.add("holiday.api.url", STUB::baseUrl);
+    }
+
+    private static StubUpstreamServer startStub() {
+        try {
+            StubUpstreamServer stub = StubUpstreamServer.start(0, Duration.ZERO, Duration.ZERO, 0, 42);
+            Runtime.getRuntime().addShutdownHook(new Thread(stub::close));
+            return stub;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
 }
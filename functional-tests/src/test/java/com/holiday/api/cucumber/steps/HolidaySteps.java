@@ -6,6 +6,7 @@ import io.cucumber.java.en.Then;
 import io.cucumber.java.en.When;
 import io.restassured.RestAssured;
 import io.restassured.response.Response;
+import org.springframework.boot.test.web.server.LocalServerPort;
 import org.springframework.http.HttpStatus;
 
 import java.util.List;
@@ -21,6 +22,9 @@ import static org.hamcrest.Matchers.not;
  */
 public class HolidaySteps {
 
+    @LocalServerPort
+    private int port;
+
     private Response response;
 
     /**
@@ -28,7 +32,7 @@ public class HolidaySteps {
      */
     @Given("the holiday API is running")
     public void theHolidayApiIsRunning() {
-        RestAssured.baseURI = "http://localhost:8084/holidays";
+        RestAssured.baseURI = "http://localhost:" + port + "/holidays";
     }
 
     /**